@@ -0,0 +1,88 @@
+package com.codewithmike.eventify.benchmark;
+
+import com.codewithmike.eventify.EventifyApplication;
+import com.codewithmike.eventify.event.EventDto;
+import com.codewithmike.eventify.event.EventService;
+import com.codewithmike.eventify.security.JwtUtil;
+import com.codewithmike.eventify.security.UserPrincipal;
+import com.codewithmike.eventify.user.User;
+import com.codewithmike.eventify.user.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Boots the application against its in-memory H2 database with a fresh user. The thread that starts it is
+ * authenticated as that user; other JMH threads that call services directly must call {@link #authenticate()}
+ * themselves, and HTTP benchmarks authenticate with {@link #bearerToken()} only. The security context
+ * strategy is left alone: the filter chain captured it when the context was built.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final UserPrincipal user;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context, UserPrincipal user) {
+        this.context = context;
+        this.user = user;
+    }
+
+    static BenchmarkApplication start(String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EventifyApplication.class)
+                .properties("server.port=0", "management.server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+
+        User owner = context.getBean(UserRepository.class).save(User.builder()
+                .firstname("Bench")
+                .lastname("Mark")
+                .email("bench-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .build());
+        BenchmarkApplication app = new BenchmarkApplication(context, UserPrincipal.from(owner));
+        app.authenticate();
+        return app;
+    }
+
+    /** Authenticates the calling thread as the benchmark user, for direct service calls. */
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    UserPrincipal user() {
+        return user;
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    String bearerToken() {
+        return "Bearer " + bean(JwtUtil.class).generateToken(user.getEmail());
+    }
+
+    EventDto createEvent(String title, String description, String location, LocalDateTime date) {
+        return bean(EventService.class).createEvent(EventDto.builder()
+                .title(title)
+                .description(description)
+                .location(location)
+                .date(date)
+                .build());
+    }
+
+    @Override
+    public void close() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+}
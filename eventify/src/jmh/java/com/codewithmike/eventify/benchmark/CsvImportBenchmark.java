@@ -0,0 +1,89 @@
+package com.codewithmike.eventify.benchmark;
+
+import com.codewithmike.eventify.participant.ParticipantService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a generated participant CSV into a fresh event per invocation, through the legacy
+ * per-row path and the streaming batched path. The legacy path keeps every saved participant in
+ * its response, so the 1M-row case needs a large heap; pass {@code -p mode=streaming} to skip it.
+ * To see how the streaming pipeline scales with cores, pass e.g. {@code -p parseThreads=1,2,4,8}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CsvImportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"legacy", "streaming"})
+    public String mode;
+
+    // eventify.import.parse-threads; 0 = one per core
+    @Param({"0"})
+    public int parseThreads;
+
+    private BenchmarkApplication app;
+    private byte[] csv;
+    private UUID eventId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start("eventify.import.parse-threads=" + parseThreads);
+        csv = generateCsv(rows);
+    }
+
+    // runs on the thread that calls the service, which must be authenticated
+    @Setup(Level.Invocation)
+    public void createEvent() {
+        app.authenticate();
+        eventId = app.createEvent("Import target", "CSV import benchmark", "Lagos", LocalDateTime.now()).getId();
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteParticipants() {
+        app.bean(JdbcTemplate.class).update("delete from participant where event_id = ?", eventId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> importCsv() throws Exception {
+        ParticipantService service = app.bean(ParticipantService.class);
+        MockMultipartFile file = new MockMultipartFile("file", "participants.csv", "text/csv", csv);
+        return "legacy".equals(mode)
+                ? service.addParticipantsFromCsv(eventId, file)
+                : service.importParticipantsFromCsv(eventId, file);
+    }
+
+    private static byte[] generateCsv(int rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows * 64);
+        StringBuilder line = new StringBuilder();
+        out.writeBytes("firstname,lastname,email,phone,status\n".getBytes(StandardCharsets.UTF_8));
+        String[] statuses = {"PENDING", "ACCEPTED", "DECLINED"};
+        for (int i = 0; i < rows; i++) {
+            line.setLength(0);
+            line.append("First").append(i).append(",Last").append(i)
+                    .append(",guest").append(i).append("@example.com,")
+                    .append(5550000 + i).append(',').append(statuses[i % 3]).append('\n');
+            out.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
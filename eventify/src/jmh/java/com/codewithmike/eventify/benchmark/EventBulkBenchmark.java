@@ -0,0 +1,97 @@
+package com.codewithmike.eventify.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating N events over HTTP: one {@code POST /api/events} per event versus a single
+ * {@code POST /api/events/bulk} with a JSON array or an NDJSON body.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBulkBenchmark {
+
+    @Param({"1000", "10000"})
+    public int events;
+
+    @Param({"single", "bulk-json", "bulk-ndjson"})
+    public String mode;
+
+    private BenchmarkApplication app;
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+    private List<String> singleBodies;
+    private String arrayBody;
+    private String ndjsonBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        app = BenchmarkApplication.start();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + app.port() + "/api/events";
+        token = app.bearerToken();
+
+        ObjectMapper mapper = app.bean(ObjectMapper.class);
+        LocalDateTime now = LocalDateTime.now();
+        singleBodies = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            singleBodies.add(mapper.writeValueAsString(Map.of(
+                    "title", "Synced event " + i,
+                    "description", "Imported from calendar sync",
+                    "location", "Lagos",
+                    "date", now.plusHours(i).toString())));
+        }
+        arrayBody = "[" + String.join(",", singleBodies) + "]";
+        ndjsonBody = String.join("\n", singleBodies);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        app.close();
+    }
+
+    @Benchmark
+    public int createEvents() throws IOException, InterruptedException {
+        return switch (mode) {
+            case "single" -> {
+                int created = 0;
+                for (String body : singleBodies) {
+                    created += post(baseUrl, "application/json", body);
+                }
+                yield created;
+            }
+            case "bulk-json" -> post(baseUrl + "/bulk", "application/json", arrayBody);
+            default -> post(baseUrl + "/bulk", "application/x-ndjson", ndjsonBody);
+        };
+    }
+
+    private int post(String url, String contentType, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", token)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.codewithmike.eventify.benchmark;
+
+import com.codewithmike.eventify.event.Event;
+import com.codewithmike.eventify.event.EventDto;
+import com.codewithmike.eventify.event.EventMapper;
+import com.codewithmike.eventify.event.EventMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private final EventMapper mapper = new EventMapperImpl();
+    private Event event;
+    private EventDto dto;
+
+    @Setup
+    public void setUp() {
+        event = Event.builder()
+                .id(UUID.randomUUID())
+                .title("Quarterly planning workshop")
+                .description("Roadmap review and quarterly goals")
+                .location("Lagos")
+                .date(LocalDateTime.now())
+                .build();
+        dto = mapper.toDto(event);
+    }
+
+    @Benchmark
+    public EventDto toDto() {
+        return mapper.toDto(event);
+    }
+
+    @Benchmark
+    public Event toEntity() {
+        return mapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,94 @@
+package com.codewithmike.eventify.benchmark;
+
+import com.codewithmike.eventify.event.EventDto;
+import com.codewithmike.eventify.event.EventService;
+import com.codewithmike.eventify.event.agenda.AgendaEntry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventService#searchEvents} against an H2 database seeded with one user's events, with the
+ * in-memory agenda lookup for the same date range as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSearchBenchmark {
+
+    private static final String[] TITLES = {"Workshop", "Meetup", "Conference", "Hackathon", "Webinar", "Retreat"};
+    private static final String[] TOPICS = {"planning", "design", "security", "roadmap", "hiring", "launch"};
+    private static final String[] CITIES = {"Lagos", "Abuja", "Nairobi", "Accra", "Kigali", "Cairo"};
+
+    @Param({"1000", "10000"})
+    public int events;
+
+    /** Authenticates every JMH worker thread before it runs the benchmark methods. */
+    @State(Scope.Thread)
+    public static class Caller {
+        @Setup
+        public void authenticate(EventSearchBenchmark benchmark) {
+            benchmark.app.authenticate();
+        }
+    }
+
+    private BenchmarkApplication app;
+    private EventService eventService;
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private final Pageable firstPageByDate = PageRequest.of(0, 20, Sort.by("date"));
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        app = BenchmarkApplication.start();
+        eventService = app.bean(EventService.class);
+        now = LocalDateTime.now();
+        for (int i = 0; i < events; i++) {
+            app.createEvent(
+                    TITLES[i % TITLES.length] + " " + TOPICS[(i / 7) % TOPICS.length] + " " + i,
+                    "Session about " + TOPICS[i % TOPICS.length] + " and " + TOPICS[(i / 3) % TOPICS.length],
+                    CITIES[(i / 11) % CITIES.length],
+                    now.plusHours(i - events / 2L)
+            );
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public Page<EventDto> titleWord(Caller caller) {
+        return eventService.searchEvents(null, "workshop", null, null, null, null, false, firstPage);
+    }
+
+    @Benchmark
+    public Page<EventDto> titlePrefixAndLocation(Caller caller) {
+        return eventService.searchEvents(null, "hack", null, "lagos", null, null, false, firstPage);
+    }
+
+    @Benchmark
+    public Page<EventDto> fullTextSortedByDate(Caller caller) {
+        return eventService.searchEvents("roadmap security", null, null, null, null, null, false, firstPageByDate);
+    }
+
+    @Benchmark
+    public Page<EventDto> dateRangeOnly(Caller caller) {
+        return eventService.searchEvents(null, null, null, null, now.minusDays(7), now.plusDays(7), false, firstPageByDate);
+    }
+
+    @Benchmark
+    public List<AgendaEntry> agendaDateRange(Caller caller) {
+        return eventService.fetchAgenda(now.minusDays(7), now.plusDays(7), 500);
+    }
+}
@@ -0,0 +1,61 @@
+package com.codewithmike.eventify.benchmark;
+
+import com.codewithmike.eventify.event.Event;
+import com.codewithmike.eventify.event.EventSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the search filters into a JPA criteria predicate, without executing it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSpecificationsBenchmark {
+
+    private BenchmarkApplication app;
+    private CriteriaBuilder cb;
+    private final LocalDateTime start = LocalDateTime.now().minusMonths(1);
+    private final LocalDateTime end = LocalDateTime.now().plusMonths(1);
+
+    @Setup
+    public void setUp() {
+        app = BenchmarkApplication.start();
+        cb = app.bean(EntityManagerFactory.class).getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public Predicate buildAllFilters() {
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        return Specification.allOf(
+                EventSpecifications.hasTitle("workshop"),
+                EventSpecifications.hasDescription("roadmap"),
+                EventSpecifications.hasLocation("lagos"),
+                EventSpecifications.isBetweenDates(start, end)
+        ).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate buildDateRange() {
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        return EventSpecifications.isBetweenDates(start, end).toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,90 @@
+package com.codewithmike.eventify.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for {@code GET /api/events} over real HTTP, with Tomcat on platform threads (the
+ * default pool of 200) and in the {@code virtual-threads} profile. The client runs more threads
+ * than the default pool so requests queue in platform mode. Throughput comes from the first
+ * mode; SampleTime reports p99 latency in the JSON result. {@code virtual-unbounded} runs the virtual-threads
+ * profile with the database bulkhead switched off, to show the pool-timeout errors it prevents; non-200
+ * responses are reported as the {@code errors} secondary result rather than failing the run.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EventsEndpointLoadBenchmark {
+
+    @Param({"platform", "virtual", "virtual-unbounded"})
+    public String mode;
+
+    private BenchmarkApplication app;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        app = switch (mode) {
+            case "virtual" -> BenchmarkApplication.start("spring.profiles.active=virtual-threads");
+            case "virtual-unbounded" -> BenchmarkApplication.start("spring.profiles.active=virtual-threads",
+                    "eventify.db-bulkhead.enabled=false");
+            default -> BenchmarkApplication.start();
+        };
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 200; i++) {
+            app.createEvent("Load test event " + i, "Seeded for the load test", "Lagos", now.plusDays(i));
+        }
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + app.port() + "/api/events?size=20"))
+                .header("Authorization", app.bearerToken())
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        app.close();
+    }
+
+    @Benchmark
+    public int listEvents(Responses responses) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            responses.errors++;
+        }
+        return response.body().length;
+    }
+
+    /** Per-thread tally that JMH sums into the {@code errors} secondary result of each iteration. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Responses {
+
+        public long errors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            errors = 0;
+        }
+    }
+}
@@ -4,16 +4,19 @@ import com.codewithmike.eventify.user.User;
 import com.codewithmike.eventify.user.UserRepository;
 import com.codewithmike.eventify.user.dto.UserCreateRequestDto;
 import com.codewithmike.eventify.security.JwtUtil;
+import com.codewithmike.eventify.security.PasswordHashingService;
+import com.codewithmike.eventify.security.UserPrincipalCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -21,15 +24,18 @@ import java.util.Map;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtUtil jwtUtil;
+    private final UserPrincipalCache userPrincipalCache;
 
     public AuthController(UserRepository userRepository,
-                          PasswordEncoder passwordEncoder,
-                          JwtUtil jwtUtil) {
+                          PasswordHashingService passwordHashing,
+                          JwtUtil jwtUtil,
+                          UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.jwtUtil = jwtUtil;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Operation(
@@ -52,6 +58,14 @@ public class AuthController {
                                     mediaType = "application/json",
                                     schema = @Schema(example = "{\"error\": \"username_taken\"}")
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Too many concurrent signups and logins, retry later",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"error\": \"auth_busy\"}")
+                            )
                     )
             }
     )
@@ -64,7 +78,7 @@ public class AuthController {
                 .firstname(req.getFirstname())
                 .lastname(req.getLastname())
                 .email(req.getEmail())
-                .passwordHash(passwordEncoder.encode(req.getPassword()))
+                .passwordHash(passwordHashing.encode(req.getPassword()))
                 .build();
 
         userRepository.save(user);
@@ -90,6 +104,14 @@ public class AuthController {
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(example = "{\"error\": \"unauthorized\"}")
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Too many concurrent signups and logins, retry later",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"error\": \"auth_busy\"}")
+                            )
                     )
             }
     )
@@ -100,10 +122,31 @@ public class AuthController {
         var opt = userRepository.findByEmail(email);
         if (opt.isEmpty()) return ResponseEntity.status(401).build();
         var user = opt.get();
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashing.matches(password, user.getPasswordHash())) {
             return ResponseEntity.status(401).build();
         }
+
+        // the cost factor was raised since this hash was made; we have the plain password now, so upgrade it.
+        // Best effort: if the pool is busy the upgrade waits for a later login
+        if (passwordHashing.needsRehash(user.getPasswordHash())) {
+            try {
+                userRepository.updatePasswordHash(user.getId(), passwordHashing.encode(password));
+                userPrincipalCache.evict(user.getEmail());
+            } catch (RejectedExecutionException ignored) {
+                // keep the old hash
+            }
+        }
+
         String token = jwtUtil.generateToken(user.getEmail());
         return ResponseEntity.ok(Map.of("token", token));
     }
+
+    // the hashing pool is saturated; fail fast instead of tying up request threads
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleHashingBusy() {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("error", "auth_busy"));
+    }
 }
@@ -0,0 +1,19 @@
+package com.codewithmike.eventify.change;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A change feed entry as sent to clients. Pass the highest {@code seq} seen as {@code since} to get the next ones.
+ */
+@Value
+public class ChangeDto {
+    long seq;
+    ChangeEntityType entityType;
+    UUID entityId;
+    UUID eventId;
+    ChangeType changeType;
+    LocalDateTime changedAt;
+}
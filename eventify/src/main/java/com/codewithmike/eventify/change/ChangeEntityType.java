@@ -0,0 +1,6 @@
+package com.codewithmike.eventify.change;
+
+public enum ChangeEntityType {
+    EVENT,
+    PARTICIPANT
+}
@@ -0,0 +1,109 @@
+package com.codewithmike.eventify.change;
+
+import com.google.common.base.Preconditions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/changes")
+@Tag(
+        name = "Change Feed",
+        description = "Sequence-numbered log of event and participant changes for incremental sync"
+)
+public class ChangeFeedController {
+
+    private final ChangeLogService changeLogService;
+
+    public ChangeFeedController(ChangeLogService changeLogService) {
+        this.changeLogService = Preconditions.checkNotNull(
+                changeLogService,
+                "changeLogService cannot be null"
+        );
+    }
+
+    @Operation(
+            summary = "Get changes since a sequence number",
+            description = "Events and participants of the current user created, updated or deleted after since, oldest "
+                    + "first. Start with since=0 and pass the returned next as since on the following call.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Changes, the next since value and whether more are waiting",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Changes after since were purged; resync from the listings",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(example = "{\"error\": \"changes_expired\"}")
+                            )
+                    )
+            }
+    )
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getChanges(
+            @Parameter(description = "Last sequence number already seen; 0 for all")
+            @RequestParam(defaultValue = "0") long since,
+
+            @Parameter(description = "Maximum number of changes (1-1000)")
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        if (changeLogService.isExpired(since)) {
+            return expired();
+        }
+        return ResponseEntity.ok(changeLogService.getChanges(since, Math.clamp(limit, 1, 1000)));
+    }
+
+    @Operation(
+            summary = "Stream changes as server-sent events",
+            description = "Replays changes after since (or the Last-Event-ID header when reconnecting), then pushes new "
+                    + "ones as they commit. Each event is named change and carries the sequence number as its id.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Event stream",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = ChangeDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Changes after since were purged; resync from the listings",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @Parameter(description = "Last sequence number already seen; 0 for all")
+            @RequestParam(required = false) Long since,
+
+            @Parameter(description = "Set by EventSource on reconnect; used when since is absent")
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        long from = since != null ? since : lastEventId != null ? lastEventId : 0;
+        if (changeLogService.isExpired(from)) {
+            // no body: the response is negotiated as text/event-stream
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(changeLogService.streamChanges(from));
+    }
+
+    private static ResponseEntity<Map<String, Object>> expired() {
+        return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", "changes_expired"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.codewithmike.eventify.change;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent change feed. Commits only ring a per-owner doorbell; each open stream then reads the entries
+ * after the last seq it sent and writes them out on its own virtual thread, so a slow client never holds
+ * up a writer and missed or reordered notifications can't cause gaps.
+ */
+@Component
+public class ChangeFeedPublisher {
+
+    private final ChangeLogRepository repository;
+    private final long timeoutMillis;
+    private final int batchSize;
+    private final Map<UUID, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChangeFeedPublisher(ChangeLogRepository repository,
+                               @Value("${eventify.changes.stream-timeout:30m}") Duration timeout,
+                               @Value("${eventify.changes.page-size:500}") int batchSize) {
+        this.repository = repository;
+        this.timeoutMillis = timeout.toMillis();
+        this.batchSize = batchSize;
+    }
+
+    /** Opens a stream of the owner's changes after {@code since}; older entries are replayed first. */
+    public SseEmitter subscribe(UUID ownerId, long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(ownerId, emitter, since);
+        subscribers.computeIfAbsent(ownerId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+        schedule(subscription);
+        return emitter;
+    }
+
+    /** Wakes the owner's open streams once the current transaction commits (right away outside one). */
+    public void notifyAfterCommit(UUID ownerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyOwner(ownerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notifyOwner(ownerId);
+            }
+        });
+    }
+
+    private void notifyOwner(UUID ownerId) {
+        Set<Subscription> owned = subscribers.get(ownerId);
+        if (owned != null) {
+            owned.forEach(this::schedule);
+        }
+    }
+
+    private void schedule(Subscription subscription) {
+        if (subscription.requestDelivery()) {
+            delivery.execute(() -> deliver(subscription));
+        }
+    }
+
+    private void deliver(Subscription subscription) {
+        try {
+            do {
+                List<ChangeDto> batch;
+                do {
+                    batch = repository.findSince(subscription.ownerId, subscription.lastSeq, PageRequest.of(0, batchSize));
+                    for (ChangeDto change : batch) {
+                        subscription.emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.getSeq()))
+                                .name("change")
+                                .data(change));
+                        subscription.lastSeq = change.getSeq();
+                    }
+                } while (batch.size() == batchSize);
+            } while (subscription.finishDelivery());
+        } catch (IOException | IllegalStateException ex) {
+            // client went away or the emitter already completed
+            unsubscribe(subscription);
+            subscription.emitter.completeWithError(ex);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.ownerId, (key, owned) -> {
+            owned.remove(subscription);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        delivery.shutdownNow();
+        subscribers.values().forEach(owned -> owned.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private static final class Subscription {
+        private static final int IDLE = 0;
+        private static final int RUNNING = 1;
+        private static final int RUNNING_DIRTY = 2;
+
+        final UUID ownerId;
+        final SseEmitter emitter;
+        // only written by the one delivery running for this subscription
+        volatile long lastSeq;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+
+        Subscription(UUID ownerId, SseEmitter emitter, long since) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+            this.lastSeq = since;
+        }
+
+        // true if the caller must start a delivery; otherwise the running one is told to go round again
+        boolean requestDelivery() {
+            while (true) {
+                int s = state.get();
+                if (s == IDLE && state.compareAndSet(IDLE, RUNNING)) return true;
+                if (s == RUNNING && state.compareAndSet(RUNNING, RUNNING_DIRTY)) return false;
+                if (s == RUNNING_DIRTY) return false;
+            }
+        }
+
+        // true if a notification arrived during the delivery and it has to read again
+        boolean finishDelivery() {
+            if (state.compareAndSet(RUNNING, IDLE)) return false;
+            state.set(RUNNING);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.codewithmike.eventify.change;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One mutation in an owner's change feed. Rows are only ever inserted (and purged once past retention);
+ * {@code seq} counts up per owner without gaps. For participant changes {@code eventId} is the participant's
+ * event, for event changes it equals {@code entityId}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ChangeLogEntry.Key.class)
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_changed_at", columnList = "changed_at"))
+public class ChangeLogEntry {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ownerId;
+        private long seq;
+    }
+
+    @Id
+    @Column(name = "owner_id")
+    private UUID ownerId;
+
+    @Id
+    private long seq;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private UUID entityId;
+
+    @Column(nullable = false)
+    private UUID eventId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
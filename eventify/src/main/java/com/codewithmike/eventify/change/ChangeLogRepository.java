@@ -0,0 +1,33 @@
+package com.codewithmike.eventify.change;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, ChangeLogEntry.Key> {
+
+    @Query("""
+            select new com.codewithmike.eventify.change.ChangeDto(
+                c.seq, c.entityType, c.entityId, c.eventId, c.changeType, c.changedAt)
+            from ChangeLogEntry c
+            where c.ownerId = :ownerId and c.seq > :since
+            order by c.seq
+            """)
+    List<ChangeDto> findSince(@Param("ownerId") UUID ownerId, @Param("since") long since, Pageable limit);
+
+    @Query("select min(c.seq) from ChangeLogEntry c where c.ownerId = :ownerId")
+    Optional<Long> findOldestSeq(@Param("ownerId") UUID ownerId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
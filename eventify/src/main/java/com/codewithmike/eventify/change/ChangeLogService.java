@@ -0,0 +1,154 @@
+package com.codewithmike.eventify.change;
+
+import com.codewithmike.eventify.event.EventLookupCache;
+import com.codewithmike.eventify.event.EventSummary;
+import com.codewithmike.eventify.security.SecurityUtil;
+import com.codewithmike.eventify.security.UserPrincipal;
+import com.codewithmike.eventify.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records event and participant mutations in the per-owner change log and serves it back for incremental
+ * sync. Recording joins the caller's transaction, so an entry exists exactly when its change committed.
+ */
+@Service
+public class ChangeLogService {
+
+    private final ChangeLogRepository repository;
+    private final UserRepository userRepository;
+    private final EventLookupCache eventLookupCache;
+    private final ChangeFeedPublisher publisher;
+    private final EntityManager entityManager;
+    private final Duration retention;
+
+    public ChangeLogService(ChangeLogRepository repository,
+                            UserRepository userRepository,
+                            EventLookupCache eventLookupCache,
+                            ChangeFeedPublisher publisher,
+                            EntityManager entityManager,
+                            @Value("${eventify.changes.retention:30d}") Duration retention) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.eventLookupCache = eventLookupCache;
+        this.publisher = publisher;
+        this.entityManager = entityManager;
+        this.retention = retention;
+    }
+
+    @Transactional
+    public void recordEvent(UUID ownerId, ChangeType changeType, UUID eventId) {
+        recordEvents(ownerId, changeType, List.of(eventId));
+    }
+
+    @Transactional
+    public void recordEvents(UUID ownerId, ChangeType changeType, Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) return;
+
+        long seq = reserve(ownerId, eventIds.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID id : eventIds) {
+            entityManager.persist(entry(ownerId, seq++, ChangeEntityType.EVENT, id, id, changeType, now));
+        }
+        publisher.notifyAfterCommit(ownerId);
+    }
+
+    @Transactional
+    public void recordParticipant(UUID eventId, ChangeType changeType, UUID participantId) {
+        recordParticipants(eventId, changeType, List.of(participantId));
+    }
+
+    @Transactional
+    public void recordParticipants(UUID eventId, ChangeType changeType, Collection<UUID> participantIds) {
+        if (participantIds.isEmpty()) return;
+
+        UUID ownerId = eventLookupCache.findById(eventId)
+                .map(EventSummary::getOwnerId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        long seq = reserve(ownerId, participantIds.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID id : participantIds) {
+            entityManager.persist(entry(ownerId, seq++, ChangeEntityType.PARTICIPANT, id, eventId, changeType, now));
+        }
+        publisher.notifyAfterCommit(ownerId);
+    }
+
+    /**
+     * Entries of the current user after {@code since}, oldest first. {@code next} is the seq to pass as
+     * {@code since} on the following call.
+     */
+    public Map<String, Object> getChanges(long since, int limit) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        List<ChangeDto> changes = repository.findSince(u.getId(), since, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        Map<String, Object> out = new HashMap<>();
+        out.put("changes", changes);
+        out.put("next", changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq());
+        out.put("hasMore", hasMore);
+        return out;
+    }
+
+    /** Streams the current user's changes after {@code since} as server-sent events. */
+    public SseEmitter streamChanges(long since) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        return publisher.subscribe(u.getId(), since);
+    }
+
+    /**
+     * True if entries after {@code since} were already purged, so the client has to resync from the listings
+     * instead of reading the feed.
+     */
+    public boolean isExpired(long since) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        return repository.findOldestSeq(u.getId())
+                .map(oldest -> since + 1 < oldest)
+                .orElseGet(() -> since < userRepository.findChangeSeq(u.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${eventify.changes.purge-interval:1h}")
+    public void purgeExpired() {
+        repository.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+
+    // takes the owner's row lock until commit, which keeps seq order equal to commit order per owner
+    private long reserve(UUID ownerId, int count) {
+        userRepository.reserveChangeSeq(ownerId, count);
+        return userRepository.findChangeSeq(ownerId) - count + 1;
+    }
+
+    private static ChangeLogEntry entry(UUID ownerId, long seq, ChangeEntityType entityType, UUID entityId,
+                                        UUID eventId, ChangeType changeType, LocalDateTime now) {
+        return ChangeLogEntry.builder()
+                .ownerId(ownerId)
+                .seq(seq)
+                .entityType(entityType)
+                .entityId(entityId)
+                .eventId(eventId)
+                .changeType(changeType)
+                .changedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.codewithmike.eventify.change;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,36 @@
+package com.codewithmike.eventify.common;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque continuation token to pass
+ * back as {@code cursor} for the following page; it is null on the last page.
+ */
+@Value
+public class CursorPage<T> {
+    List<T> items;
+    String nextCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /** Encodes the keyset parts into an opaque, URL-safe token. */
+    public static String encodeCursor(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a token produced by {@link #encodeCursor}. */
+    public static String[] decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
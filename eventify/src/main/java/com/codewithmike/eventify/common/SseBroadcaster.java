@@ -0,0 +1,162 @@
+package com.codewithmike.eventify.common;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans messages out to server-sent event streams grouped by topic. Publishing never blocks and takes no
+ * lock: it walks a copy-on-write snapshot of the topic's subscribers and appends to each one's queue. Every
+ * subscriber drains its own queue on a virtual thread. A subscriber whose queue already holds
+ * {@code queueCapacity} messages is too slow to keep up; it is disconnected instead of buffering without
+ * bound, and the client is expected to reconnect and start from a fresh snapshot.
+ */
+public class SseBroadcaster<K, T> {
+
+    private final String eventName;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final Map<K, List<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Executor delivery;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SseBroadcaster(String eventName, int queueCapacity, long timeoutMillis) {
+        this(eventName, queueCapacity, timeoutMillis, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // tests pass an executor they run by hand, to step through delivery deterministically
+    SseBroadcaster(String eventName, int queueCapacity, long timeoutMillis, Executor delivery) {
+        this.eventName = eventName;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.delivery = delivery;
+    }
+
+    /** Opens a stream on the topic; {@code initial}, if not null, is the first message it receives. */
+    public SseEmitter subscribe(K topic, T initial) {
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        topics.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        if (initial != null) {
+            subscriber.offer(initial);
+        }
+        return emitter;
+    }
+
+    public boolean hasSubscribers(K topic) {
+        return topics.containsKey(topic);
+    }
+
+    public void publish(K topic, T message) {
+        List<Subscriber> subscribers = topics.get(topic);
+        if (subscribers == null) return;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /** Subscribers disconnected so far for falling behind. */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public void shutdown() {
+        if (delivery instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+        topics.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        topics.clear();
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    Queue<T> newQueue() {
+        return new ConcurrentLinkedQueue<>();
+    }
+
+    private void remove(Subscriber subscriber) {
+        topics.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private final class Subscriber {
+        final K topic;
+        final SseEmitter emitter;
+        private final Queue<T> queue = newQueue();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(K topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        void offer(T message) {
+            if (closed.get()) return;
+            if (queued.incrementAndGet() > queueCapacity) {
+                // slow consumer: cut it loose rather than let its backlog grow
+                dropped.incrementAndGet();
+                close();
+                emitter.complete();
+                return;
+            }
+            queue.offer(message);
+            if (draining.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    T message;
+                    while (!closed.get() && (message = queue.poll()) != null) {
+                        queued.decrementAndGet();
+                        emitter.send(SseEmitter.event().name(eventName).data(message));
+                    }
+                    draining.set(false);
+                    // a message offered after the last poll but before the flag was cleared needs another round
+                } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException ex) {
+                // client went away or the stream already completed
+                close();
+                emitter.completeWithError(ex);
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.codewithmike.eventify.common;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Change counter and last-modified time of a collection (a user's events, an event's participants).
+ * Bumped in the same transaction as every write to the collection, so clients can revalidate
+ * listings with {@code If-None-Match}/{@code If-Modified-Since} without the listing being re-read.
+ */
+@Value
+public class VersionStamp {
+    long version;
+    LocalDateTime modifiedAt;
+
+    /** Entity tag for the given scope; the scope keeps tags of different users and events apart. */
+    public String etag(UUID scope) {
+        return "\"" + scope + "-" + version + "\"";
+    }
+
+    /** Epoch millis for {@code Last-Modified}, or -1 if the collection was never modified. */
+    public long lastModifiedMillis() {
+        return modifiedAt == null ? -1 : modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
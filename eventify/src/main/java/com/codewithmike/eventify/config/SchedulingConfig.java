@@ -0,0 +1,10 @@
+package com.codewithmike.eventify.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled jobs run on Boot's task scheduler, which uses virtual threads in the virtual-threads profile
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -13,6 +13,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_event_owner_date_id", columnList = "owner_id, date, id"),
+        @Index(name = "idx_event_owner_archived_date_id", columnList = "owner_id, archived, date, id"),
+        @Index(name = "idx_event_archived_date", columnList = "archived, date")
+})
 public class Event {
 
     @Id
@@ -28,4 +33,25 @@ public class Event {
     @JoinColumn(name = "owner_id")
     private User owner;
 
+    // set by EventArchiver once the event is in the past; cleared again when the event is edited
+    @Builder.Default
+    private boolean archived = false;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    // bumped with bulk updates whenever the event's participants change; see EventRepository
+    @Builder.Default
+    private long participantsVersion = 0;
+
+    private LocalDateTime participantsModifiedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
 }
@@ -0,0 +1,100 @@
+package com.codewithmike.eventify.event;
+
+import com.codewithmike.eventify.event.search.EventSearchIndex;
+import com.codewithmike.eventify.user.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves events whose date is more than {@code eventify.events.archive-after} in the past into the cold set
+ * by flagging them archived. Default listings, cursors, search and the upcoming view only read hot events,
+ * so their cost follows the number of current events rather than everything an owner ever created.
+ * Undated events are never archived.
+ */
+@Component
+public class EventArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiver.class);
+
+    private final EventRepository repository;
+    private final UserRepository userRepository;
+    private final EventSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final Counter archived;
+
+    public EventArchiver(EventRepository repository,
+                         UserRepository userRepository,
+                         EventSearchIndex searchIndex,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${eventify.events.archive-after:30d}") Duration archiveAfter,
+                         @Value("${eventify.events.archive-batch-size:1000}") int batchSize) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("eventify.events.archived")
+                .description("Events moved to the archived (cold) set")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${eventify.events.archive-initial-delay:1m}",
+            fixedDelayString = "${eventify.events.archive-interval:1h}")
+    public void archivePastEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveBatch(cutoff);
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} events dated before {}", total, cutoff);
+        }
+    }
+
+    /** Whether an event with this date belongs in the archived set; write paths use it to set the flag directly. */
+    static boolean isArchivable(LocalDateTime date, Duration archiveAfter) {
+        return date != null && date.isBefore(LocalDateTime.now().minus(archiveAfter));
+    }
+
+    /** Archives up to one batch of past events in its own transaction; returns how many were moved. */
+    int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<UUID> ids = repository.findIdsToArchive(cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            List<UUID> owners = repository.findOwnerIdsByIdIn(ids);
+            repository.archiveByIdIn(ids);
+            searchIndex.archiveAll(ids);
+
+            // listings of these owners changed, so their ETags must too
+            LocalDateTime now = LocalDateTime.now();
+            owners.forEach(ownerId -> userRepository.bumpEventsVersion(ownerId, now));
+            return ids.size();
+        });
+        int count = moved == null ? 0 : moved;
+        archived.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.codewithmike.eventify.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one entry of a bulk request; {@code index} is its position in the request body.
+ */
+@Value
+public class EventBulkItem {
+    int index;
+    UUID id;
+    EventBulkStatus status;
+    String error;
+
+    static EventBulkItem of(int index, UUID id, EventBulkStatus status) {
+        return new EventBulkItem(index, id, status, null);
+    }
+}
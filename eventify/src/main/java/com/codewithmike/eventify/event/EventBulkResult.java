@@ -0,0 +1,45 @@
+package com.codewithmike.eventify.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-item results of a bulk create, update or delete, in request order.
+ */
+public class EventBulkResult {
+
+    private final List<EventBulkItem> items = new ArrayList<>();
+    private int succeeded;
+
+    void addAll(List<EventBulkItem> chunk) {
+        for (EventBulkItem item : chunk) {
+            items.add(item);
+            if (item.getStatus().isSuccess()) {
+                succeeded++;
+            }
+        }
+    }
+
+    public List<EventBulkItem> getItems() {
+        return items;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return items.size() - succeeded;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> out = new HashMap<>();
+        out.put("processedCount", items.size());
+        out.put("succeededCount", getSucceeded());
+        out.put("failedCount", getFailed());
+        out.put("results", items);
+        return out;
+    }
+}
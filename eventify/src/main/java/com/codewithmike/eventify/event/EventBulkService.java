@@ -0,0 +1,237 @@
+package com.codewithmike.eventify.event;
+
+import com.codewithmike.eventify.change.ChangeLogService;
+import com.codewithmike.eventify.change.ChangeType;
+import com.codewithmike.eventify.event.agenda.EventAgendaIndex;
+import com.codewithmike.eventify.event.search.EventSearchIndex;
+import com.codewithmike.eventify.security.SecurityUtil;
+import com.codewithmike.eventify.security.UserPrincipal;
+import com.codewithmike.eventify.user.User;
+import com.codewithmike.eventify.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bulk create, update and delete of the current user's events.
+ * Input is consumed incrementally in chunks of {@code eventify.events.bulk-batch-size}; each chunk runs in
+ * its own transaction with Hibernate JDBC batching and the persistence context is cleared afterwards.
+ * If a chunk fails it is retried item by item, so one bad entry only fails itself. Chunks that
+ * committed stay committed even if a later one fails.
+ */
+@Service
+@Timed(value = "eventify.service", description = "Service method latency", histogram = true)
+public class EventBulkService {
+
+    private final EventRepository repository;
+    private final EventMapper mapper;
+    private final UserRepository userRepository;
+    private final EventSearchIndex searchIndex;
+    private final EventLookupCache lookupCache;
+    private final EventAgendaIndex agendaIndex;
+    private final ChangeLogService changeLog;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration archiveAfter;
+
+    public EventBulkService(EventRepository repository,
+                            EventMapper mapper,
+                            UserRepository userRepository,
+                            EventSearchIndex searchIndex,
+                            EventLookupCache lookupCache,
+                            EventAgendaIndex agendaIndex,
+                            ChangeLogService changeLog,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${eventify.events.bulk-batch-size:500}") int batchSize,
+                            @Value("${eventify.events.archive-after:30d}") Duration archiveAfter) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.lookupCache = lookupCache;
+        this.agendaIndex = agendaIndex;
+        this.changeLog = changeLog;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.archiveAfter = archiveAfter;
+    }
+
+    public EventBulkResult createEvents(Iterator<EventDto> events) {
+        return apply(events, this::create);
+    }
+
+    /** Full replacement of each event, like {@code PUT /api/events/{id}}; every entry needs an id. */
+    public EventBulkResult updateEvents(Iterator<EventDto> events) {
+        return apply(events, this::update);
+    }
+
+    public EventBulkResult deleteEvents(Iterator<UUID> ids) {
+        return apply(ids, this::delete);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        // runs inside a transaction; offset is the request index of the first entry
+        List<EventBulkItem> write(UUID ownerId, List<T> chunk, int offset);
+    }
+
+    private <T> EventBulkResult apply(Iterator<T> input, ChunkWriter<T> writer) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        EventBulkResult result = new EventBulkResult();
+        List<T> chunk = new ArrayList<>(batchSize);
+        int offset = 0;
+        while (input.hasNext()) {
+            chunk.add(input.next());
+            if (chunk.size() >= batchSize) {
+                result.addAll(writeChunk(u.getId(), chunk, offset, writer));
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.addAll(writeChunk(u.getId(), chunk, offset, writer));
+        }
+        return result;
+    }
+
+    private <T> List<EventBulkItem> writeChunk(UUID ownerId, List<T> chunk, int offset, ChunkWriter<T> writer) {
+        try {
+            return transactionTemplate.execute(tx -> writer.write(ownerId, chunk, offset));
+        } catch (DataIntegrityViolationException | PersistenceException ex) {
+            // the whole chunk rolled back; redo it one entry per transaction to isolate the failures
+            List<EventBulkItem> items = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = offset + i;
+                List<T> single = List.of(chunk.get(i));
+                try {
+                    items.addAll(transactionTemplate.execute(tx -> writer.write(ownerId, single, index)));
+                } catch (DataIntegrityViolationException | PersistenceException rowEx) {
+                    items.add(new EventBulkItem(index, idOf(chunk.get(i)), EventBulkStatus.FAILED,
+                            rowEx.getMessage()));
+                }
+            }
+            return items;
+        }
+    }
+
+    private List<EventBulkItem> create(UUID ownerId, List<EventDto> chunk, int offset) {
+        User owner = userRepository.getReferenceById(ownerId);
+        List<Event> created = new ArrayList<>(chunk.size());
+        for (EventDto dto : chunk) {
+            Event e = mapper.toEntity(dto);
+            e.setOwner(owner);
+            entityManager.persist(e);
+            created.add(e);
+        }
+        searchIndex.indexAll(created, false);
+        agendaIndex.putAll(created);
+        userRepository.bumpEventsVersion(ownerId, LocalDateTime.now());
+        changeLog.recordEvents(ownerId, ChangeType.CREATED, created.stream().map(Event::getId).toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<EventBulkItem> items = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            items.add(EventBulkItem.of(offset + i, created.get(i).getId(), EventBulkStatus.CREATED));
+        }
+        return items;
+    }
+
+    private List<EventBulkItem> update(UUID ownerId, List<EventDto> chunk, int offset) {
+        Map<UUID, Event> existing = loadOwned(ownerId, chunk.stream().map(EventDto::getId).toList());
+        Map<UUID, Event> updated = new LinkedHashMap<>();
+        List<EventBulkItem> items = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            EventDto dto = chunk.get(i);
+            if (dto.getId() == null) {
+                items.add(new EventBulkItem(offset + i, null, EventBulkStatus.INVALID, "id is required"));
+                continue;
+            }
+            Event e = existing.get(dto.getId());
+            if (e == null) {
+                items.add(EventBulkItem.of(offset + i, dto.getId(), EventBulkStatus.NOT_FOUND));
+                continue;
+            }
+            e.setTitle(dto.getTitle());
+            e.setDescription(dto.getDescription());
+            e.setLocation(dto.getLocation());
+            e.setDate(dto.getDate());
+            e.setArchived(EventArchiver.isArchivable(e.getDate(), archiveAfter));
+            updated.put(e.getId(), e);
+            items.add(EventBulkItem.of(offset + i, e.getId(), EventBulkStatus.UPDATED));
+        }
+
+        searchIndex.indexAll(updated.values(), true);
+        agendaIndex.putAll(updated.values());
+        updated.keySet().forEach(lookupCache::evict);
+        if (!updated.isEmpty()) {
+            userRepository.bumpEventsVersion(ownerId, LocalDateTime.now());
+            changeLog.recordEvents(ownerId, ChangeType.UPDATED, updated.keySet());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return items;
+    }
+
+    private List<EventBulkItem> delete(UUID ownerId, List<UUID> chunk, int offset) {
+        Map<UUID, Event> existing = loadOwned(ownerId, chunk);
+        Set<UUID> deleted = new LinkedHashSet<>();
+        List<EventBulkItem> items = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            UUID id = chunk.get(i);
+            if (id == null) {
+                items.add(new EventBulkItem(offset + i, null, EventBulkStatus.INVALID, "id is required"));
+                continue;
+            }
+            Event e = existing.get(id);
+            if (e == null || !deleted.add(id)) {
+                items.add(EventBulkItem.of(offset + i, id, EventBulkStatus.NOT_FOUND));
+                continue;
+            }
+            entityManager.remove(e);
+            items.add(EventBulkItem.of(offset + i, id, EventBulkStatus.DELETED));
+        }
+
+        searchIndex.removeAll(deleted);
+        agendaIndex.removeAll(deleted.stream().map(existing::get).toList());
+        deleted.forEach(lookupCache::evict);
+        if (!deleted.isEmpty()) {
+            userRepository.bumpEventsVersion(ownerId, LocalDateTime.now());
+            changeLog.recordEvents(ownerId, ChangeType.DELETED, deleted);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return items;
+    }
+
+    private Map<UUID, Event> loadOwned(UUID ownerId, List<UUID> ids) {
+        List<UUID> present = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<UUID, Event> byId = new HashMap<>();
+        if (!present.isEmpty()) {
+            repository.findByOwnerIdAndIdIn(ownerId, present).forEach(e -> byId.put(e.getId(), e));
+        }
+        return byId;
+    }
+
+    private static UUID idOf(Object entry) {
+        if (entry instanceof EventDto dto) return dto.getId();
+        if (entry instanceof UUID id) return id;
+        return null;
+    }
+}
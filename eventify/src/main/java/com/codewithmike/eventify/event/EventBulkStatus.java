@@ -0,0 +1,14 @@
+package com.codewithmike.eventify.event;
+
+public enum EventBulkStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    INVALID,
+    FAILED;
+
+    public boolean isSuccess() {
+        return this == CREATED || this == UPDATED || this == DELETED;
+    }
+}
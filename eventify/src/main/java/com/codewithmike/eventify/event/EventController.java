@@ -1,6 +1,14 @@
 package com.codewithmike.eventify.event;
 
 
+import com.codewithmike.eventify.common.CursorPage;
+import com.codewithmike.eventify.common.VersionStamp;
+import com.codewithmike.eventify.event.agenda.AgendaEntry;
+import com.codewithmike.eventify.security.SecurityUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +21,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,10 +41,16 @@ import java.util.UUID;
         description = "Endpoints for managing and searching events."
 )
 public class EventController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final EventService eventService;
+    private final EventBulkService eventBulkService;
+    private final ObjectMapper objectMapper;
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, EventBulkService eventBulkService, ObjectMapper objectMapper) {
         this.eventService = Preconditions.checkNotNull(eventService, "eventService cannot be null");
+        this.eventBulkService = Preconditions.checkNotNull(eventBulkService, "eventBulkService cannot be null");
+        this.objectMapper = Preconditions.checkNotNull(objectMapper, "objectMapper cannot be null");
     }
 
 
@@ -44,7 +63,7 @@ public class EventController {
                             description = "List of all events fetched successfully",
                             content = @Content(
                                     mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = Event.class))
+                                    array = @ArraySchema(schema = @Schema(implementation = EventDto.class))
                             )
                     ),
                     @ApiResponse(
@@ -55,8 +74,121 @@ public class EventController {
             }
     )
     @GetMapping
-    public Page<EventDto> fetchMyEvents(Pageable pageable) {
-        return eventService.fetchAllEvents(pageable);
+    public Page<EventDto> fetchMyEvents(
+            @Parameter(description = "Pagination and sorting parameters")
+            Pageable pageable,
+
+            @Parameter(description = "Also return archived (past) events")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+
+            WebRequest request
+    ) {
+        if (notModified(request)) {
+            return null;
+        }
+        return eventService.fetchAllEvents(pageable, includeArchived);
+    }
+
+    @Operation(
+            summary = "Get the agenda for a time range",
+            description = "The user's events starting at or after from and before to, soonest first, for calendar "
+                    + "views. Served from an in-memory index of event start times; includes archived events.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Events in the range",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = AgendaEntry.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "from is not before to",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/agenda")
+    public ResponseEntity<List<AgendaEntry>> fetchAgenda(
+            @Parameter(description = "Range start, inclusive (ISO format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "Range end, exclusive (ISO format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "Maximum number of events (1-2000)")
+            @RequestParam(defaultValue = "500") int limit,
+
+            WebRequest request
+    ) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // the index moves after commit, so its own version tags the response rather than the events stamp
+        if (request.checkNotModified(eventService.currentAgendaEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok(eventService.fetchAgenda(from, to, Math.clamp(limit, 1, 2000)));
+    }
+
+    @Operation(
+            summary = "Get upcoming events",
+            description = "The user's next events from now on, soonest first. Reads only current (non-archived) events.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Upcoming events",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = EventDto.class))
+                            )
+                    )
+            }
+    )
+    @GetMapping("/upcoming")
+    public List<EventDto> fetchUpcomingEvents(
+            @Parameter(description = "Number of events to return (1-100)")
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        // no conditional GET here: the answer changes as time passes even when no event is written
+        return eventService.fetchUpcomingEvents(Math.clamp(size, 1, 100));
+    }
+
+    @Operation(
+            summary = "Get events using a cursor",
+            description = "Keyset-paginated listing of the user's events ordered by date then id, undated events last. "
+                    + "Pass the returned nextCursor as cursor to fetch the following page; deep pages cost the same as the first one.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "One page of events",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPage.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/cursor")
+    public CursorPage<EventDto> fetchMyEventsByCursor(
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (1-500)")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Also return archived (past) events")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+
+            WebRequest request
+    ) {
+        if (notModified(request)) {
+            return null;
+        }
+        return eventService.fetchEventsByCursor(cursor, Math.clamp(size, 1, 500), includeArchived);
     }
 
     @Operation(
@@ -189,11 +321,112 @@ public class EventController {
 
 
 
+    @Operation(
+            summary = "Create events in bulk",
+            description = """
+                Accepts a JSON array of events or an NDJSON stream (one event per line). Events are written in
+                batched transactions; the response lists the outcome and new id of every entry in request order.
+                """,
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Per-item results with processed, succeeded and failed counts",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed request body",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public Map<String, Object> createEvents(InputStream body) throws IOException {
+        try (MappingIterator<EventDto> events = objectMapper.readerFor(EventDto.class).readValues(body)) {
+            return eventBulkService.createEvents(events).toMap();
+        }
+    }
+
+    @Operation(
+            summary = "Update events in bulk",
+            description = """
+                Replaces title, description, location and date of each event, like PUT /api/events/{id}. Accepts a
+                JSON array or NDJSON stream of events with ids. Unknown or foreign ids are reported as NOT_FOUND.
+                """,
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Per-item results with processed, succeeded and failed counts",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed request body",
+                            content = @Content
+                    )
+            }
+    )
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public Map<String, Object> updateEvents(InputStream body) throws IOException {
+        try (MappingIterator<EventDto> events = objectMapper.readerFor(EventDto.class).readValues(body)) {
+            return eventBulkService.updateEvents(events).toMap();
+        }
+    }
+
+    @Operation(
+            summary = "Delete events in bulk",
+            description = "Accepts a JSON array or NDJSON stream of event ids. Unknown or foreign ids are reported as NOT_FOUND.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Per-item results with processed, succeeded and failed counts",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed request body",
+                            content = @Content
+                    )
+            }
+    )
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public Map<String, Object> deleteEvents(InputStream body) throws IOException {
+        try (MappingIterator<UUID> ids = objectMapper.readerFor(UUID.class).readValues(body)) {
+            return eventBulkService.deleteEvents(ids).toMap();
+        }
+    }
+
+    // answers If-None-Match / If-Modified-Since from the user's event change stamp; true means a 304 was set
+    private boolean notModified(WebRequest request) {
+        VersionStamp stamp = eventService.currentEventsStamp();
+        return request.checkNotModified(stamp.etag(SecurityUtil.currentUser().getId()), stamp.lastModifiedMillis());
+    }
+
+    // malformed bulk bodies; chunks written before the bad entry stay committed
+    @ExceptionHandler({JsonProcessingException.class, RuntimeJsonMappingException.class})
+    public ResponseEntity<Map<String, Object>> handleMalformedBody(Exception ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(Map.of("error", "malformed_body", "message", String.valueOf(ex.getMessage())));
+    }
+
+
+
     @Operation(
             summary = "Search user's events with optional filters",
             description = """
                 Fetch events belonging to the authenticated user, filtered by title, description, location,
-                or date range. Supports pagination and sorting via query parameters.
+                or date range. Text filters match whole words or word prefixes; without an explicit sort,
+                results are ranked by relevance. Supports pagination and sorting via query parameters.
                 """,
             responses = {
                     @ApiResponse(
@@ -201,7 +434,7 @@ public class EventController {
                             description = "Filtered list of events fetched successfully",
                             content = @Content(
                                     mediaType = "application/json",
-                                    schema = @Schema(implementation = Event.class)
+                                    schema = @Schema(implementation = EventDto.class)
                             )
                     ),
                     @ApiResponse(
@@ -212,7 +445,10 @@ public class EventController {
             }
     )
     @GetMapping("/search")
-    public ResponseEntity<Page<Event>> searchEvents(
+    public ResponseEntity<Page<EventDto>> searchEvents(
+            @Parameter(description = "Full-text query matched against title, description and location")
+            @RequestParam(required = false) String q,
+
             @Parameter(description = "Filter events by title (case-insensitive)")
             @RequestParam(required = false) String title,
 
@@ -234,10 +470,19 @@ public class EventController {
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
 
+            @Parameter(description = "Also search archived (past) events")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+
             @Parameter(description = "Pagination and sorting parameters")
-            Pageable pageable
+            Pageable pageable,
+
+            WebRequest request
     ) {
-        Page<Event> results = eventService.searchEvents(title, description, location, startDate, endDate, pageable);
+        if (notModified(request)) {
+            return null;
+        }
+        Page<EventDto> results = eventService.searchEvents(q, title, description, location, startDate, endDate,
+                includeArchived, pageable);
         return ResponseEntity.ok(results);
     }
 
@@ -0,0 +1,84 @@
+package com.codewithmike.eventify.event;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of {@link EventSummary} snapshots keyed by event id, in front of {@link EventRepository}.
+ * Used for ownership checks so repeated participant operations on the same event don't re-read the event row.
+ * Entries expire after {@code eventify.events.cache-ttl}; writers must call {@link #evict} when an event
+ * is created, changed or deleted. Unknown ids are not cached.
+ */
+@Component
+public class EventLookupCache implements MeterBinder {
+
+    private final EventRepository repository;
+    private final Cache<UUID, EventSummary> events;
+
+    public EventLookupCache(EventRepository repository,
+                            @Value("${eventify.events.cache-size:10000}") long maximumSize,
+                            @Value("${eventify.events.cache-ttl:10m}") Duration ttl) {
+        this.repository = repository;
+        this.events = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<EventSummary> findById(UUID id) {
+        EventSummary cached = events.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<EventSummary> loaded = repository.findSummaryById(id);
+        loaded.ifPresent(summary -> events.put(id, summary));
+        return loaded;
+    }
+
+    /**
+     * Loads the event and checks that it belongs to the given user.
+     *
+     * @throws RuntimeException if the event does not exist or is owned by someone else
+     */
+    public EventSummary requireOwnedBy(UUID id, UUID userId) {
+        EventSummary event = findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
+        if (!event.isOwnedBy(userId)) {
+            throw new RuntimeException("Access denied");
+        }
+        return event;
+    }
+
+    /**
+     * Drops the cached snapshot. Inside a transaction the entry is dropped again after commit, so a
+     * concurrent reader can't re-cache the pre-commit row.
+     */
+    public void evict(UUID id) {
+        events.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    events.invalidate(id);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, events, "event.lookup");
+    }
+}
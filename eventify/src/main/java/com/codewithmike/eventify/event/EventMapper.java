@@ -9,5 +9,10 @@ public interface EventMapper {
     EventDto toDto(Event event);
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "archived", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "participantsVersion", ignore = true)
+    @Mapping(target = "participantsModifiedAt", ignore = true)
     Event toEntity(EventDto dto);
 }
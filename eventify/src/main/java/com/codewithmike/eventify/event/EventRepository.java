@@ -1,20 +1,194 @@
 package com.codewithmike.eventify.event;
 
+import com.codewithmike.eventify.common.VersionStamp;
+import com.codewithmike.eventify.event.agenda.AgendaRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event>,
+        EventRepositoryCustom {
     List<Event> findByTitleContainingIgnoreCase(String title);
     List<Event> findByDescriptionContainingIgnoreCase(String description);
     List<Event> findByLocationContainingIgnoreCase(String location);
     List<Event> findByDate(LocalDateTime date);
     Page<Event> findByOwnerId(UUID ownerId, Pageable pageable);
     Optional<Event> findByIdAndOwnerId(UUID id, UUID ownerId);
+    List<Event> findByOwnerIdAndIdIn(UUID ownerId, Collection<UUID> ids);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventSummary(
+                e.id, e.owner.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.id = :id
+            """)
+    Optional<EventSummary> findSummaryById(@Param("id") UUID id);
+
+    @Query("""
+            select new com.codewithmike.eventify.common.VersionStamp(e.participantsVersion, e.participantsModifiedAt)
+            from Event e
+            where e.id = :id and e.owner.id = :ownerId
+            """)
+    Optional<VersionStamp> findParticipantsStamp(@Param("id") UUID id, @Param("ownerId") UUID ownerId);
+
+    // bulk update, so it neither loads the event nor bumps its @Version
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.participantsVersion = e.participantsVersion + 1, e.participantsModifiedAt = :now where e.id = :id")
+    void bumpParticipantsVersion(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    // read paths select straight into EventDto: no owner join, no managed entities, no mapping
+
+    @Query(value = """
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId
+            """,
+            countQuery = "select count(e) from Event e where e.owner.id = :ownerId")
+    Page<EventDto> findDtosByOwnerId(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.id in :ids
+            """)
+    List<EventDto> findDtosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // keyset pagination on (date, id); the Pageable must be unsorted and only carries the page size
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.date is not null
+            order by e.date, e.id
+            """)
+    Slice<EventDto> findDatedByOwnerFirst(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId
+              and (e.date > :date or (e.date = :date and e.id > :id))
+            order by e.date, e.id
+            """)
+    Slice<EventDto> findDatedByOwnerAfter(@Param("ownerId") UUID ownerId,
+                                          @Param("date") LocalDateTime date,
+                                          @Param("id") UUID id,
+                                          Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.date is null
+            order by e.id
+            """)
+    Slice<EventDto> findUndatedByOwnerFirst(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.date is null and e.id > :id
+            order by e.id
+            """)
+    Slice<EventDto> findUndatedByOwnerAfter(@Param("ownerId") UUID ownerId, @Param("id") UUID id, Pageable pageable);
+
+    // hot-set variants of the listings above: only events that are not archived, served from the
+    // (owner_id, archived, date, id) index so they don't slow down as past events pile up
+
+    @Query(value = """
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.archived = false
+            """,
+            countQuery = "select count(e) from Event e where e.owner.id = :ownerId and e.archived = false")
+    Page<EventDto> findHotDtosByOwnerId(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.archived = false and e.date is not null
+            order by e.date, e.id
+            """)
+    Slice<EventDto> findHotDatedByOwnerFirst(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.archived = false
+              and (e.date > :date or (e.date = :date and e.id > :id))
+            order by e.date, e.id
+            """)
+    Slice<EventDto> findHotDatedByOwnerAfter(@Param("ownerId") UUID ownerId,
+                                             @Param("date") LocalDateTime date,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.archived = false and e.date is null
+            order by e.id
+            """)
+    Slice<EventDto> findHotUndatedByOwnerFirst(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.archived = false and e.date is null and e.id > :id
+            order by e.id
+            """)
+    Slice<EventDto> findHotUndatedByOwnerAfter(@Param("ownerId") UUID ownerId, @Param("id") UUID id, Pageable pageable);
+
+    @Query("""
+            select new com.codewithmike.eventify.event.EventDto(e.id, e.title, e.description, e.location, e.date)
+            from Event e
+            where e.owner.id = :ownerId and e.archived = false and e.date >= :from
+            order by e.date, e.id
+            """)
+    Slice<EventDto> findUpcomingByOwner(@Param("ownerId") UUID ownerId,
+                                        @Param("from") LocalDateTime from,
+                                        Pageable pageable);
+
+    // archive job
+
+    @Query("select e.id from Event e where e.archived = false and e.date < :cutoff")
+    List<UUID> findIdsToArchive(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+
+    @Query("select distinct e.owner.id from Event e where e.id in :ids")
+    List<UUID> findOwnerIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select count(e) from Event e where e.id in :ids and e.owner.id = :ownerId")
+    long countOwnedBy(@Param("ids") Collection<UUID> ids, @Param("ownerId") UUID ownerId);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.archived = true where e.id in :ids")
+    void archiveByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // agenda index rebuild
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.codewithmike.eventify.event.agenda.AgendaRow(
+                e.owner.id, e.id, e.title, e.location, e.date, e.version)
+            from Event e
+            where e.date is not null
+            """)
+    Stream<AgendaRow> streamAgendaRows();
 }
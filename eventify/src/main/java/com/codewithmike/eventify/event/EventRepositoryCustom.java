@@ -0,0 +1,14 @@
+package com.codewithmike.eventify.event;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Like {@code findAll(spec, pageable)}, but selects the {@link EventDto} columns directly instead of
+     * loading {@link Event} entities and their owner.
+     */
+    Page<EventDto> findDtos(Specification<Event> spec, Pageable pageable);
+}
@@ -1,93 +1,288 @@
 package com.codewithmike.eventify.event;
 
+import com.codewithmike.eventify.change.ChangeLogService;
+import com.codewithmike.eventify.change.ChangeType;
+import com.codewithmike.eventify.common.CursorPage;
+import com.codewithmike.eventify.common.VersionStamp;
+import com.codewithmike.eventify.event.agenda.AgendaEntry;
+import com.codewithmike.eventify.event.agenda.EventAgendaIndex;
+import com.codewithmike.eventify.event.search.EventSearchIndex;
 import com.codewithmike.eventify.security.SecurityUtil;
-import com.codewithmike.eventify.user.User;
+import com.codewithmike.eventify.security.UserPrincipal;
+import com.codewithmike.eventify.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 
 @Service
+@Timed(value = "eventify.service", description = "Service method latency", histogram = true)
 public class EventService {
 
+    private static final String DATED_CURSOR = "d";
+    private static final String UNDATED_CURSOR = "n";
+
     private final EventRepository repository;
     private final EventMapper mapper;
+    private final UserRepository userRepository;
+    private final EventSearchIndex searchIndex;
+    private final EventLookupCache lookupCache;
+    private final EventAgendaIndex agendaIndex;
+    private final ChangeLogService changeLog;
+    private final Duration archiveAfter;
 
-    public EventService(EventRepository repository, EventMapper mapper) {
+    public EventService(EventRepository repository, EventMapper mapper, UserRepository userRepository,
+                        EventSearchIndex searchIndex, EventLookupCache lookupCache, EventAgendaIndex agendaIndex,
+                        ChangeLogService changeLog,
+                        @Value("${eventify.events.archive-after:30d}") Duration archiveAfter) {
         this.repository = repository;
         this.mapper = mapper;
+        this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.lookupCache = lookupCache;
+        this.agendaIndex = agendaIndex;
+        this.changeLog = changeLog;
+        this.archiveAfter = archiveAfter;
     }
 
-    public Page<EventDto> fetchAllEvents(Pageable pageable) {
-        User currentUser = SecurityUtil.currentUser();
+    /** Change stamp of the current user's events, for conditional GETs on event listings. */
+    public VersionStamp currentEventsStamp() {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+        return userRepository.findEventsStamp(u.getId()).orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Page of the current user's events. Archived (past) events are left out unless {@code includeArchived}
+     * is set, so the default listing only reads the hot part of the owner's index range.
+     */
+    public Page<EventDto> fetchAllEvents(Pageable pageable, boolean includeArchived) {
+        UserPrincipal currentUser = SecurityUtil.currentUser();
         if (currentUser == null) {
             throw new RuntimeException("Unauthenticated");
         }
 
-        Page<Event> events = repository.findByOwnerId(currentUser.getId(), pageable);
-        return events.map(mapper::toDto);
+        return includeArchived
+                ? repository.findDtosByOwnerId(currentUser.getId(), pageable)
+                : repository.findHotDtosByOwnerId(currentUser.getId(), pageable);
+    }
+
+    /** The current user's next events from now on, soonest first. Never reads archived events. */
+    public List<EventDto> fetchUpcomingEvents(int size) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        return repository.findUpcomingByOwner(u.getId(), LocalDateTime.now(), PageRequest.of(0, size)).getContent();
+    }
+
+    /** Entity tag of the current user's agenda, taken from the index rather than the events stamp. */
+    public String currentAgendaEtag() {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        return agendaIndex.etag(u.getId());
     }
 
+    /**
+     * The current user's events starting in [from, to), soonest first, served from the in-memory agenda
+     * index without touching the database. Includes archived events; undated events never show up.
+     */
+    public List<AgendaEntry> fetchAgenda(LocalDateTime from, LocalDateTime to, int limit) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        return agendaIndex.range(u.getId(), from, to, limit);
+    }
+
+    /**
+     * Keyset-paginated listing of the current user's events, ordered by (date, id) with undated events last.
+     * Every page costs the same no matter how deep it is, and no count query is issued.
+     * Archived events are skipped unless {@code includeArchived} is set.
+     */
+    public CursorPage<EventDto> fetchEventsByCursor(String cursor, int size, boolean includeArchived) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        if (u == null) throw new RuntimeException("Unauthenticated");
+
+        Pageable limit = PageRequest.of(0, size);
+        String[] position = cursor == null ? null : CursorPage.decodeCursor(cursor);
+        List<EventDto> items = new ArrayList<>(size);
+        UUID undatedAfter = null;
 
+        try {
+            if (position == null || DATED_CURSOR.equals(position[0])) {
+                Slice<EventDto> dated;
+                if (position == null) {
+                    dated = includeArchived
+                            ? repository.findDatedByOwnerFirst(u.getId(), limit)
+                            : repository.findHotDatedByOwnerFirst(u.getId(), limit);
+                } else {
+                    LocalDateTime date = LocalDateTime.parse(position[1]);
+                    UUID id = UUID.fromString(position[2]);
+                    dated = includeArchived
+                            ? repository.findDatedByOwnerAfter(u.getId(), date, id, limit)
+                            : repository.findHotDatedByOwnerAfter(u.getId(), date, id, limit);
+                }
+                items.addAll(dated.getContent());
+
+                if (dated.hasNext()) {
+                    EventDto last = dated.getContent().get(dated.getNumberOfElements() - 1);
+                    return new CursorPage<>(items, CursorPage.encodeCursor(
+                            DATED_CURSOR, last.getDate().toString(), last.getId().toString()));
+                }
+                if (items.size() == size) {
+                    return new CursorPage<>(items, CursorPage.encodeCursor(UNDATED_CURSOR, ""));
+                }
+            } else if (UNDATED_CURSOR.equals(position[0])) {
+                undatedAfter = position[1].isEmpty() ? null : UUID.fromString(position[1]);
+            } else {
+                throw new RuntimeException("Invalid cursor");
+            }
+        } catch (DateTimeParseException | IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new RuntimeException("Invalid cursor");
+        }
+
+        Pageable remaining = PageRequest.of(0, size - items.size());
+        Slice<EventDto> undated;
+        if (undatedAfter == null) {
+            undated = includeArchived
+                    ? repository.findUndatedByOwnerFirst(u.getId(), remaining)
+                    : repository.findHotUndatedByOwnerFirst(u.getId(), remaining);
+        } else {
+            undated = includeArchived
+                    ? repository.findUndatedByOwnerAfter(u.getId(), undatedAfter, remaining)
+                    : repository.findHotUndatedByOwnerAfter(u.getId(), undatedAfter, remaining);
+        }
+        items.addAll(undated.getContent());
+
+        if (undated.hasNext()) {
+            EventDto last = undated.getContent().get(undated.getNumberOfElements() - 1);
+            return new CursorPage<>(items, CursorPage.encodeCursor(UNDATED_CURSOR, last.getId().toString()));
+        }
+        return new CursorPage<>(items, null);
+    }
+
+
+    @Transactional
     public EventDto createEvent(EventDto dto) {
-        User u = SecurityUtil.currentUser();
+        UserPrincipal u = SecurityUtil.currentUser();
         if (u == null) throw new RuntimeException("Unauthenticated");
 
         Event e = mapper.toEntity(dto);
-        e.setOwner(u);
+        e.setOwner(userRepository.getReferenceById(u.getId()));
         e = repository.save(e);
+        searchIndex.index(e);
+        agendaIndex.put(e);
+        lookupCache.evict(e.getId());
+        userRepository.bumpEventsVersion(u.getId(), LocalDateTime.now());
+        changeLog.recordEvent(u.getId(), ChangeType.CREATED, e.getId());
         return mapper.toDto(e);
     }
 
+    @Transactional
     public Optional<EventDto> updateEvent(UUID id, EventDto dto) {
-        User u = SecurityUtil.currentUser();
+        UserPrincipal u = SecurityUtil.currentUser();
         return repository.findByIdAndOwnerId(id, u.getId()).map(existing -> {
             existing.setTitle(dto.getTitle());
             existing.setDescription(dto.getDescription());
             existing.setLocation(dto.getLocation());
             existing.setDate(dto.getDate());
-            return mapper.toDto(repository.save(existing));
+            existing.setArchived(EventArchiver.isArchivable(existing.getDate(), archiveAfter));
+            Event saved = repository.save(existing);
+            searchIndex.index(saved);
+            agendaIndex.put(saved);
+            lookupCache.evict(id);
+            userRepository.bumpEventsVersion(u.getId(), LocalDateTime.now());
+            changeLog.recordEvent(u.getId(), ChangeType.UPDATED, id);
+            return mapper.toDto(saved);
         });
     }
 
+    @Transactional
     public Optional<EventDto> patchEvent(UUID id, EventDto dto) {
-        User u = SecurityUtil.currentUser();
+        UserPrincipal u = SecurityUtil.currentUser();
         return repository.findByIdAndOwnerId(id, u.getId()).map(existing -> {
             if (dto.getTitle() != null) existing.setTitle(dto.getTitle());
             if (dto.getDescription() != null) existing.setDescription(dto.getDescription());
             if (dto.getLocation() != null) existing.setLocation(dto.getLocation());
             if (dto.getDate() != null) existing.setDate(dto.getDate());
-            return mapper.toDto(repository.save(existing));
+            existing.setArchived(EventArchiver.isArchivable(existing.getDate(), archiveAfter));
+            Event saved = repository.save(existing);
+            searchIndex.index(saved);
+            agendaIndex.put(saved);
+            lookupCache.evict(id);
+            userRepository.bumpEventsVersion(u.getId(), LocalDateTime.now());
+            changeLog.recordEvent(u.getId(), ChangeType.UPDATED, id);
+            return mapper.toDto(saved);
         });
     }
 
+    @Transactional
     public boolean deleteEvent(UUID id) {
-        User u = SecurityUtil.currentUser();
+        UserPrincipal u = SecurityUtil.currentUser();
         return repository.findByIdAndOwnerId(id, u.getId()).map(existing -> {
             repository.delete(existing);
+            searchIndex.remove(id);
+            agendaIndex.remove(existing);
+            lookupCache.evict(id);
+            userRepository.bumpEventsVersion(u.getId(), LocalDateTime.now());
+            changeLog.recordEvent(u.getId(), ChangeType.DELETED, id);
             return true;
         }).orElse(false);
     }
 
-    public Page<Event> searchEvents(String title, String description, String location,
-                                    LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        User u = SecurityUtil.currentUser();
+    /**
+     * Searches the current user's events. Text filters go through the full-text index and match whole
+     * words or word prefixes; without an explicit sort, results come back ranked by relevance, with
+     * ranking and paging done in the database.
+     * Rows are read straight into {@link EventDto}s without loading entities. Archived events only
+     * show up when {@code includeArchived} is set.
+     */
+    public Page<EventDto> searchEvents(String q, String title, String description, String location,
+                                    LocalDateTime startDate, LocalDateTime endDate, boolean includeArchived,
+                                    Pageable pageable) {
+        UserPrincipal u = SecurityUtil.currentUser();
 
         Specification<Event> ownerSpec = (root, query, cb) ->
                 cb.equal(root.get("owner").get("id"), u.getId());
+        if (!includeArchived) {
+            ownerSpec = ownerSpec.and(EventSpecifications.isNotArchived());
+        }
+
+        if (!EventSearchIndex.hasTerms(q, title, description, location)) {
+            Specification<Event> spec = Specification.allOf(
+                    ownerSpec,
+                    EventSpecifications.isBetweenDates(startDate, endDate)
+            );
+            return repository.findDtos(spec, pageable);
+        }
+
+        if (pageable.getSort().isSorted()) {
+            return repository.findDtos(ownerSpec.and(searchIndex.matching(u.getId(), q, title, description, location,
+                    startDate, endDate, includeArchived)), pageable);
+        }
+
+        Page<UUID> ids = searchIndex.search(u.getId(), q, title, description, location, startDate, endDate,
+                includeArchived, pageable);
+        return new PageImpl<>(loadInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
 
-        Specification<Event> spec = Specification.allOf(
-                ownerSpec,
-                EventSpecifications.hasTitle(title),
-                EventSpecifications.hasDescription(description),
-                EventSpecifications.hasLocation(location),
-                EventSpecifications.isBetweenDates(startDate, endDate)
-        );
+    private List<EventDto> loadInOrder(List<UUID> ids) {
+        Map<UUID, EventDto> byId = new HashMap<>();
+        repository.findDtosByIdIn(ids).forEach(e -> byId.put(e.getId(), e));
 
-        return repository.findAll(spec, pageable);
+        List<EventDto> ordered = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            EventDto e = byId.get(id);
+            if (e != null) ordered.add(e);
+        }
+        return ordered;
     }
 
 }
@@ -27,6 +27,10 @@ public class EventSpecifications {
                         : cb.like(cb.lower(root.get("location")), "%" + location.toLowerCase() + "%");
     }
 
+    public static Specification<Event> isNotArchived() {
+        return (root, query, cb) -> cb.isFalse(root.get("archived"));
+    }
+
     // filter by date range
     public static Specification<Event> isBetweenDates(LocalDateTime start, LocalDateTime end) {
         return (root, query, cb) -> {
@@ -0,0 +1,23 @@
+package com.codewithmike.eventify.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of an event row, including its owner id, as held by {@link EventLookupCache}.
+ */
+@Value
+public class EventSummary {
+    UUID id;
+    UUID ownerId;
+    String title;
+    String description;
+    String location;
+    LocalDateTime date;
+
+    public boolean isOwnedBy(UUID userId) {
+        return ownerId.equals(userId);
+    }
+}
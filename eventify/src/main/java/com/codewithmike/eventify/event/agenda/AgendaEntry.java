@@ -0,0 +1,18 @@
+package com.codewithmike.eventify.event.agenda;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One event as shown on a calendar: enough to draw it, without the description. Held in memory by
+ * {@link EventAgendaIndex}.
+ */
+@Value
+public class AgendaEntry {
+    UUID id;
+    String title;
+    String location;
+    LocalDateTime date;
+}
@@ -0,0 +1,23 @@
+package com.codewithmike.eventify.event.agenda;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Dated event as read when the agenda index is rebuilt; carries the owner and row version next to the entry.
+ */
+@Value
+public class AgendaRow {
+    UUID ownerId;
+    UUID id;
+    String title;
+    String location;
+    LocalDateTime date;
+    Long version;
+
+    AgendaEntry toEntry() {
+        return new AgendaEntry(id, title, location, date);
+    }
+}
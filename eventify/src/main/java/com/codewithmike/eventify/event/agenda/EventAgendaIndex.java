@@ -0,0 +1,178 @@
+package com.codewithmike.eventify.event.agenda;
+
+import com.codewithmike.eventify.event.Event;
+import com.codewithmike.eventify.event.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, per-owner index of dated events sorted by start time, for calendar views. Built from the
+ * database once all singletons exist (before the web server takes requests) and kept current by the event
+ * write paths, which hand their changes over after commit. Archived events stay in the index so past months
+ * resolve the same way; undated events are not indexed. Every change to an owner's agenda takes the next
+ * number of an index-wide sequence, which is what the agenda's {@code ETag} is built from.
+ */
+@Component
+public class EventAgendaIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(EventAgendaIndex.class);
+
+    private final EventRepository repository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Map<UUID, OwnerAgenda> owners = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // tells versions of this index apart from those handed out before a restart
+    private final long epoch = System.currentTimeMillis();
+
+    public EventAgendaIndex(EventRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        readOnlyTransactionTemplate.executeWithoutResult(tx -> {
+            try (Stream<AgendaRow> rows = repository.streamAgendaRows()) {
+                rows.forEach(row -> {
+                    apply(row.getOwnerId(), row.toEntry(), versionOf(row.getVersion()));
+                    count.incrementAndGet();
+                });
+            }
+        });
+        log.info("Agenda index built with {} events of {} owners in {} ms",
+                count.get(), owners.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** The owner's events starting in [from, to), soonest first, at most {@code limit} of them. */
+    public List<AgendaEntry> range(UUID ownerId, LocalDateTime from, LocalDateTime to, int limit) {
+        OwnerAgenda agenda = owners.get(ownerId);
+        if (agenda == null || !from.isBefore(to)) {
+            return List.of();
+        }
+        return agenda.range(from, to, limit);
+    }
+
+    /**
+     * Entity tag for the owner's agenda, bumped in the same step as the agenda changes. Read it before the
+     * range: a write racing the request then only costs the client one more full response.
+     */
+    public String etag(UUID ownerId) {
+        OwnerAgenda agenda = owners.get(ownerId);
+        return "\"agenda-" + ownerId + "-" + epoch + "-" + (agenda == null ? 0 : agenda.version()) + "\"";
+    }
+
+    /** Indexes the saved event (or moves it to its new date) once the current transaction commits. */
+    public void put(Event event) {
+        afterCommit(() -> putNow(event));
+    }
+
+    public void putAll(Collection<Event> events) {
+        List<Event> copy = List.copyOf(events);
+        afterCommit(() -> copy.forEach(this::putNow));
+    }
+
+    /** Takes the deleted event out once the current transaction commits. */
+    public void remove(Event event) {
+        Removal removal = Removal.of(event);
+        afterCommit(() -> removeNow(removal));
+    }
+
+    public void removeAll(Collection<Event> events) {
+        List<Removal> removals = events.stream().map(Removal::of).toList();
+        afterCommit(() -> removals.forEach(this::removeNow));
+    }
+
+    /** Drops expired tombstones, and with them agendas that have nothing left. */
+    @Scheduled(fixedDelayString = "${eventify.agenda.sweep-interval:1m}")
+    void expireTombstones() {
+        long now = System.nanoTime();
+        for (UUID ownerId : owners.keySet()) {
+            owners.computeIfPresent(ownerId, (key, agenda) -> {
+                agenda.expireTombstones(now);
+                return agenda.isEmpty() ? null : agenda;
+            });
+        }
+    }
+
+    private void putNow(Event event) {
+        apply(event.getOwner().getId(),
+                new AgendaEntry(event.getId(), event.getTitle(), event.getLocation(), event.getDate()),
+                versionOf(event.getVersion()));
+    }
+
+    // per-owner updates run under the map's bin lock, so an agenda emptied by a delete can't swallow a put,
+    // and the agenda's version moves together with its content
+    private void apply(UUID ownerId, AgendaEntry entry, long version) {
+        owners.compute(ownerId, (key, agenda) -> {
+            long now = System.nanoTime();
+            if (agenda == null) {
+                agenda = new OwnerAgenda();
+            }
+            if (agenda.put(entry, version, now)) {
+                agenda.setVersion(sequence.incrementAndGet());
+            }
+            agenda.expireTombstones(now);
+            return agenda.isEmpty() ? null : agenda;
+        });
+    }
+
+    // the tombstone is kept even when the owner has no agenda yet, in case the event's insert is still in flight
+    private void removeNow(Removal removal) {
+        owners.compute(removal.ownerId(), (key, agenda) -> {
+            long now = System.nanoTime();
+            if (agenda == null) {
+                agenda = new OwnerAgenda();
+            }
+            if (agenda.remove(removal.eventId(), removal.version(), now)) {
+                agenda.setVersion(sequence.incrementAndGet());
+            }
+            agenda.expireTombstones(now);
+            return agenda.isEmpty() ? null : agenda;
+        });
+    }
+
+    // ids and version read while the entity is still managed, before the after-commit callback runs
+    private record Removal(UUID ownerId, UUID eventId, long version) {
+
+        static Removal of(Event event) {
+            return new Removal(event.getOwner().getId(), event.getId(), versionOf(event.getVersion()));
+        }
+    }
+
+    // rolled back writes never reach the index; outside a transaction the change applies right away
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,136 @@
+package com.codewithmike.eventify.event.agenda;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Dated events of one owner sorted by start time. Reads walk the skip list without locking; writes are
+ * serialized per owner so the id-to-slot map and the skip list move together. Deleted and undated events
+ * leave a versioned tombstone for a while, so a late callback of an earlier write can't bring them back.
+ */
+final class OwnerAgenda {
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    // far longer than any gap between two commits' after-commit callbacks
+    private static final long TOMBSTONE_TTL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    // start time as UTC epoch second + nano, ties broken by id
+    private record Slot(long epochSecond, int nano, UUID id) implements Comparable<Slot> {
+
+        static Slot of(LocalDateTime date, UUID id) {
+            return new Slot(date.toEpochSecond(ZoneOffset.UTC), date.getNano(), id);
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int c = Long.compare(epochSecond, other.epochSecond);
+            if (c == 0) c = Integer.compare(nano, other.nano);
+            return c != 0 ? c : id.compareTo(other.id);
+        }
+    }
+
+    // slot is null for a tombstone
+    private record Placed(Slot slot, long version) {
+    }
+
+    private record Tombstone(UUID id, Placed placed, long expiresAt) {
+    }
+
+    private final ConcurrentSkipListMap<Slot, AgendaEntry> byTime = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Placed> placed = new HashMap<>();
+    private final ArrayDeque<Tombstone> tombstones = new ArrayDeque<>();
+    private volatile long version;
+
+    /**
+     * Inserts or moves the event; an undated event is taken out. Callbacks of concurrent transactions can
+     * run out of commit order, so a write carrying an older row version than the one already seen is
+     * ignored. Returns whether the agenda changed.
+     */
+    synchronized boolean put(AgendaEntry entry, long version, long now) {
+        if (entry.getDate() == null) {
+            return bury(entry.getId(), version, now);
+        }
+        Placed current = placed.get(entry.getId());
+        if (current != null) {
+            if (current.version() > version) {
+                return false;
+            }
+            if (current.slot() != null) {
+                byTime.remove(current.slot());
+            }
+        }
+        Slot slot = Slot.of(entry.getDate(), entry.getId());
+        byTime.put(slot, entry);
+        placed.put(entry.getId(), new Placed(slot, version));
+        return true;
+    }
+
+    /**
+     * Takes the event out. {@code version} is the version of the deleted row; the tombstone sits one above
+     * it, since a put from the same or an earlier write must lose to the delete.
+     */
+    synchronized boolean remove(UUID id, long version, long now) {
+        return bury(id, version + 1, now);
+    }
+
+    private boolean bury(UUID id, long version, long now) {
+        Placed current = placed.get(id);
+        if (current != null) {
+            if (current.version() > version) {
+                return false;
+            }
+            if (current.slot() != null) {
+                byTime.remove(current.slot());
+            }
+        }
+        Placed tombstone = new Placed(null, version);
+        placed.put(id, tombstone);
+        tombstones.addLast(new Tombstone(id, tombstone, now + TOMBSTONE_TTL_NANOS));
+        return current != null && current.slot() != null;
+    }
+
+    /** Forgets tombstones old enough that no callback they guard against can still arrive. */
+    synchronized void expireTombstones(long now) {
+        Tombstone oldest;
+        while ((oldest = tombstones.peekFirst()) != null && oldest.expiresAt() - now <= 0) {
+            tombstones.removeFirst();
+            placed.remove(oldest.id(), oldest.placed());
+        }
+    }
+
+    /** Nothing indexed and no tombstone left, so the agenda can be dropped. */
+    synchronized boolean isEmpty() {
+        return placed.isEmpty();
+    }
+
+    /** Index-wide sequence number of the last change that touched this agenda. */
+    long version() {
+        return version;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    /** Events starting in [from, to), soonest first, at most {@code limit} of them. */
+    List<AgendaEntry> range(LocalDateTime from, LocalDateTime to, int limit) {
+        ConcurrentNavigableMap<Slot, AgendaEntry> window =
+                byTime.subMap(Slot.of(from, MIN_ID), true, Slot.of(to, MIN_ID), false);
+        List<AgendaEntry> entries = new ArrayList<>(Math.min(limit, 64));
+        for (AgendaEntry entry : window.values()) {
+            if (entries.size() == limit) break;
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,17 @@
+package com.codewithmike.eventify.event.search;
+
+public enum EventSearchField {
+    TITLE(3),
+    LOCATION(2),
+    DESCRIPTION(1);
+
+    private final int weight;
+
+    EventSearchField(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
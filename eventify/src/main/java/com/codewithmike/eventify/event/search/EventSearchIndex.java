@@ -0,0 +1,285 @@
+package com.codewithmike.eventify.event.search;
+
+import com.codewithmike.eventify.event.Event;
+import com.codewithmike.eventify.event.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Word-level inverted index over event title, description and location, stored in the
+ * {@link EventSearchToken} table. Lookups go through the (owner_id, archived, token) index, so search
+ * cost depends on how many events match, not on how many events the user has.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // stand-ins for an open end of a date range, so one indexed query covers all three cases
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final EventSearchTokenRepository tokenRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public EventSearchIndex(EventSearchTokenRepository tokenRepository,
+                            EventRepository eventRepository,
+                            PlatformTransactionManager transactionManager,
+                            EntityManager entityManager) {
+        this.tokenRepository = tokenRepository;
+        this.eventRepository = eventRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Replaces the index entries of the event. Call inside the transaction that wrote the event. */
+    public void index(Event event) {
+        tokenRepository.deleteByEventId(event.getId());
+        tokenRepository.saveAll(tokensFor(event));
+    }
+
+    /** Drops the index entries of a deleted event. Call inside the deleting transaction. */
+    public void remove(UUID eventId) {
+        tokenRepository.deleteByEventId(eventId);
+    }
+
+    /**
+     * Bulk form of {@link #index}: one delete for all the events, then their tokens are batch-inserted.
+     * Pass {@code replace = false} for events that were just created and have no entries yet.
+     */
+    public void indexAll(Collection<Event> events, boolean replace) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (replace) {
+            tokenRepository.deleteByEventIdIn(events.stream().map(Event::getId).toList());
+        }
+        List<EventSearchToken> tokens = new ArrayList<>();
+        events.forEach(event -> tokens.addAll(tokensFor(event)));
+        tokenRepository.saveAll(tokens);
+    }
+
+    /** Flags the entries of events the archiver just moved to the cold set. Call inside its transaction. */
+    public void archiveAll(Collection<UUID> eventIds) {
+        if (!eventIds.isEmpty()) {
+            tokenRepository.archiveByEventIdIn(eventIds);
+        }
+    }
+
+    /** Bulk form of {@link #remove}. */
+    public void removeAll(Collection<UUID> eventIds) {
+        if (!eventIds.isEmpty()) {
+            tokenRepository.deleteByEventIdIn(eventIds);
+        }
+    }
+
+    /** Whether any of the texts contains at least one searchable word. */
+    public static boolean hasTerms(String... texts) {
+        for (String text : texts) {
+            if (!tokenize(text).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One page of the owner's events matching the given texts, best match first. Every word must match, as a
+     * whole word or a word prefix, in the field it was given for; {@code q} may match in any field. Results
+     * are restricted to the date range when one is given. Unless {@code includeArchived} is set, tokens of
+     * archived events are never read. Scoring, ranking and paging run in the database; only the ids of the
+     * page come back, plus a count query when the page alone can't tell the total.
+     */
+    public Page<UUID> search(UUID ownerId, String q, String title, String description, String location,
+                             LocalDateTime startDate, LocalDateTime endDate, boolean includeArchived,
+                             Pageable pageable) {
+        Search search = Search.of(ownerId, q, title, description, location, startDate, endDate, includeArchived);
+        if (search.clauses().isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<EventSearchToken> t = query.from(EventSearchToken.class);
+        query.select(t.get("eventId"));
+        search.restrict(query, t, cb);
+        query.orderBy(cb.desc(cb.sum(search.score(t, cb))), cb.asc(t.get("eventId")));
+
+        TypedQuery<UUID> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(search));
+    }
+
+    /**
+     * Restricts events to those matching the given texts, under the same rules as {@link #search}, for
+     * searches ordered by an event attribute rather than by relevance.
+     */
+    public Specification<Event> matching(UUID ownerId, String q, String title, String description, String location,
+                                         LocalDateTime startDate, LocalDateTime endDate, boolean includeArchived) {
+        Search search = Search.of(ownerId, q, title, description, location, startDate, endDate, includeArchived);
+        return (root, query, cb) -> root.get("id").in(matchingIds(search, query, cb));
+    }
+
+    /** Indexes existing events on startup when the index table is empty, e.g. right after it was introduced. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (tokenRepository.count() > 0 || eventRepository.count() == 0) {
+            return;
+        }
+
+        int page = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            PageRequest request = PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id"));
+            hasNext = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                Page<Event> batch = eventRepository.findAll(request);
+                batch.forEach(event -> tokenRepository.saveAll(tokensFor(event)));
+                return batch.hasNext();
+            }));
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private Subquery<UUID> matchingIds(Search search, CommonAbstractCriteria query, CriteriaBuilder cb) {
+        Subquery<UUID> ids = query.subquery(UUID.class);
+        Root<EventSearchToken> t = ids.from(EventSearchToken.class);
+        ids.select(t.get("eventId"));
+        search.restrict(ids, t, cb);
+        return ids;
+    }
+
+    private long count(Search search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root)).where(root.get("id").in(matchingIds(search, query, cb)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<EventSearchToken> tokensFor(Event event) {
+        List<EventSearchToken> tokens = new ArrayList<>();
+        addTokens(tokens, event, EventSearchField.TITLE, event.getTitle());
+        addTokens(tokens, event, EventSearchField.DESCRIPTION, event.getDescription());
+        addTokens(tokens, event, EventSearchField.LOCATION, event.getLocation());
+        return tokens;
+    }
+
+    private void addTokens(List<EventSearchToken> tokens, Event event, EventSearchField field, String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        tokenize(text).forEach(token -> counts.merge(token, 1, Integer::sum));
+
+        counts.forEach((token, count) -> tokens.add(EventSearchToken.builder()
+                .ownerId(event.getOwner().getId())
+                .eventId(event.getId())
+                .field(field)
+                .token(token)
+                .eventDate(event.getDate())
+                .archived(event.isArchived())
+                .weight(field.getWeight() * count)
+                .build()));
+    }
+
+    // one searched word and the fields it may match in
+    private record Clause(Set<EventSearchField> fields, String term) {
+
+        Predicate matches(Root<EventSearchToken> t, CriteriaBuilder cb) {
+            return cb.and(t.get("field").in(fields), cb.like(t.get("token"), term + "%"));
+        }
+    }
+
+    private record Search(UUID ownerId, List<Clause> clauses, List<Boolean> archived,
+                          LocalDateTime startDate, LocalDateTime endDate) {
+
+        static Search of(UUID ownerId, String q, String title, String description, String location,
+                         LocalDateTime startDate, LocalDateTime endDate, boolean includeArchived) {
+            List<Clause> clauses = new ArrayList<>();
+            addClauses(clauses, EnumSet.allOf(EventSearchField.class), q);
+            addClauses(clauses, EnumSet.of(EventSearchField.TITLE), title);
+            addClauses(clauses, EnumSet.of(EventSearchField.DESCRIPTION), description);
+            addClauses(clauses, EnumSet.of(EventSearchField.LOCATION), location);
+            return new Search(ownerId, clauses, includeArchived ? List.of(false, true) : List.of(false),
+                    startDate, endDate);
+        }
+
+        private static void addClauses(List<Clause> clauses, Set<EventSearchField> fields, String text) {
+            new LinkedHashSet<>(tokenize(text)).forEach(term -> clauses.add(new Clause(fields, term)));
+        }
+
+        // tokens of the owner that match any clause, grouped per event, keeping events that match every clause
+        void restrict(AbstractQuery<?> query, Root<EventSearchToken> t, CriteriaBuilder cb) {
+            List<Predicate> where = new ArrayList<>();
+            where.add(cb.equal(t.get("ownerId"), ownerId));
+            where.add(t.get("archived").in(archived));
+            if (startDate != null || endDate != null) {
+                where.add(cb.between(t.<LocalDateTime>get("eventDate"),
+                        startDate != null ? startDate : MIN_DATE,
+                        endDate != null ? endDate : MAX_DATE));
+            }
+            where.add(cb.or(clauses.stream().map(c -> c.matches(t, cb)).toArray(Predicate[]::new)));
+
+            query.where(where.toArray(Predicate[]::new));
+            query.groupBy(t.get("eventId"));
+            query.having(clauses.stream()
+                    .map(c -> cb.gt(cb.sum(cb.<Integer>selectCase().when(c.matches(t, cb), 1).otherwise(0)), 0))
+                    .toArray(Predicate[]::new));
+        }
+
+        // per row: the field weight for every clause it matches, doubled for an exact word match
+        Expression<Integer> score(Root<EventSearchToken> t, CriteriaBuilder cb) {
+            Expression<Integer> weight = t.get("weight");
+            Expression<Integer> score = null;
+            for (Clause c : clauses) {
+                Expression<Integer> clauseScore = cb.<Integer>selectCase()
+                        .when(c.matches(t, cb), cb.<Integer>selectCase()
+                                .when(cb.equal(t.get("token"), c.term()), cb.prod(weight, 2))
+                                .otherwise(weight))
+                        .otherwise(0);
+                score = score == null ? clauseScore : cb.sum(score, clauseScore);
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.codewithmike.eventify.event.search;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the event full-text index: a word that occurs in a field of an event.
+ * Owner, date and the archived flag are denormalized from the event so a search resolves entirely on
+ * this table, using the (owner_id, archived, token) index for both exact and prefix lookups.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_event_search_token_owner_archived_token", columnList = "owner_id, archived, token"),
+        @Index(name = "idx_event_search_token_event", columnList = "event_id")
+})
+public class EventSearchToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private EventSearchField field;
+
+    @Column(nullable = false, length = 64)
+    private String token;
+
+    private LocalDateTime eventDate;
+
+    // kept in step with Event.archived by the write paths and EventArchiver
+    @Column(nullable = false)
+    private boolean archived;
+
+    // field weight multiplied by the number of occurrences in that field
+    private int weight;
+}
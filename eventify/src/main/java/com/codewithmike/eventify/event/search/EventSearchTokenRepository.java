@@ -0,0 +1,24 @@
+package com.codewithmike.eventify.event.search;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface EventSearchTokenRepository extends JpaRepository<EventSearchToken, UUID> {
+
+    @Modifying
+    @Query("delete from EventSearchToken t where t.eventId = :eventId")
+    void deleteByEventId(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("delete from EventSearchToken t where t.eventId in :eventIds")
+    void deleteByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    @Modifying
+    @Query("update EventSearchToken t set t.archived = true where t.eventId in :eventIds")
+    void archiveByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+}
@@ -0,0 +1,91 @@
+package com.codewithmike.eventify.participant;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A participant CSV import running in the background.
+ * Status and timestamps are written by the worker thread and read by status polls.
+ */
+public class ImportJob {
+
+    private final UUID id;
+    private final UUID ownerId;
+    private final UUID eventId;
+    private final ParticipantImportStats stats;
+    private final Instant createdAt = Instant.now();
+
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ImportJob(UUID id, UUID ownerId, UUID eventId, ParticipantImportStats stats) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.eventId = eventId;
+        this.stats = stats;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public ParticipantImportStats getStats() {
+        return stats;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    void markCompleted() {
+        finishedAt = Instant.now();
+        status = ImportJobStatus.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        status = ImportJobStatus.FAILED;
+    }
+
+    /** Rows processed per second since the job started, up to now or the finish time. */
+    public double getRowsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return stats.getProcessed() * 1000.0 / millis;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> out = stats.toMap();
+        out.put("jobId", id);
+        out.put("eventId", eventId);
+        out.put("status", status);
+        out.put("createdAt", createdAt);
+        out.put("startedAt", startedAt);
+        out.put("finishedAt", finishedAt);
+        out.put("rowsPerSecond", getRowsPerSecond());
+        out.put("error", error);
+        return out;
+    }
+}
@@ -0,0 +1,125 @@
+package com.codewithmike.eventify.participant;
+
+import com.codewithmike.eventify.event.EventLookupCache;
+import com.codewithmike.eventify.security.SecurityUtil;
+import com.codewithmike.eventify.security.UserPrincipal;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs participant CSV imports in the background.
+ * Uploads are spooled to local disk so the request thread returns immediately, and jobs are
+ * processed on a bounded pool of workers with a bounded queue; submissions beyond that are
+ * rejected rather than piling up. Workers are virtual threads when
+ * {@code spring.threads.virtual.enabled} is set. The pool size stays bounded either way,
+ * since every worker holds a database connection while it writes a chunk.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final ParticipantService participantService;
+    private final EventLookupCache eventLookupCache;
+    private final Path spoolDir;
+    private final int skippedSampleSize;
+    private final ThreadPoolExecutor executor;
+    private final Cache<UUID, ImportJob> jobs;
+
+    public ImportJobService(ParticipantService participantService,
+                            EventLookupCache eventLookupCache,
+                            @Value("${eventify.import.spool-dir:${java.io.tmpdir}/eventify-imports}") Path spoolDir,
+                            @Value("${eventify.import.skipped-sample-size:100}") int skippedSampleSize,
+                            @Value("${eventify.import.workers:2}") int workers,
+                            @Value("${eventify.import.queue-capacity:20}") int queueCapacity,
+                            @Value("${eventify.import.job-retention:24h}") Duration jobRetention,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.participantService = participantService;
+        this.eventLookupCache = eventLookupCache;
+        this.spoolDir = Files.createDirectories(spoolDir);
+        this.skippedSampleSize = skippedSampleSize;
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                virtualThreads
+                        ? Thread.ofVirtual().name("participant-import-", 0).factory()
+                        : Thread.ofPlatform().name("participant-import-", 0).daemon(true).factory()
+        );
+        this.jobs = CacheBuilder.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+    }
+
+    /**
+     * Spools the upload to disk and queues it for import.
+     *
+     * @throws RejectedExecutionException if the import queue is full
+     */
+    public ImportJob submit(UUID eventId, MultipartFile file) throws IOException {
+        UserPrincipal u = SecurityUtil.currentUser();
+        eventLookupCache.requireOwnedBy(eventId, u.getId());
+
+        Path spooled = Files.createTempFile(spoolDir, "import-", ".csv");
+        file.transferTo(spooled);
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), u.getId(), eventId,
+                new ParticipantImportStats(skippedSampleSize));
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException ex) {
+            jobs.invalidate(job.getId());
+            Files.deleteIfExists(spooled);
+            throw ex;
+        }
+        return job;
+    }
+
+    /** Returns the job if it exists and belongs to the current user. */
+    public Optional<ImportJob> findJob(UUID jobId) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.getOwnerId().equals(u.getId()));
+    }
+
+    private void run(ImportJob job, Path spooled) {
+        job.markRunning();
+        try (InputStream in = Files.newInputStream(spooled)) {
+            participantService.importParticipants(job.getEventId(), in, job.getStats());
+            job.markCompleted();
+        } catch (Exception ex) {
+            log.warn("Participant import job {} failed", job.getId(), ex);
+            job.markFailed(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException ex) {
+                log.warn("Could not delete spooled import file {}", spooled, ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
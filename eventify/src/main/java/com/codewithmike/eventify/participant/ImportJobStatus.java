@@ -0,0 +1,8 @@
+package com.codewithmike.eventify.participant;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
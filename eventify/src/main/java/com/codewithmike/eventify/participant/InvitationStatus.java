@@ -3,5 +3,19 @@ package com.codewithmike.eventify.participant;
 public enum InvitationStatus {
     ACCEPTED,
     PENDING,
-    DECLINED
+    DECLINED;
+
+    private static final InvitationStatus[] VALUES = values();
+
+    /** Case-insensitive lookup that falls back to {@link #PENDING} for blank or unknown values, without throwing. */
+    public static InvitationStatus parseOrPending(String value) {
+        if (value != null) {
+            for (InvitationStatus status : VALUES) {
+                if (status.name().equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+        }
+        return PENDING;
+    }
 }
@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.UUID;
 
@@ -15,6 +17,16 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_participant_event_email",
+                columnNames = {"event_id", "email"}
+        ),
+        indexes = {
+                @Index(name = "idx_participant_event_status", columnList = "event_id, invitation_status"),
+                @Index(name = "idx_participant_event_id", columnList = "event_id, id")
+        }
+)
 public class Participant {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -26,6 +38,8 @@ public class Participant {
     private String phoneNumber;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 16)
     @Builder.Default
     private InvitationStatus invitationStatus = InvitationStatus.PENDING;
 
@@ -33,4 +47,13 @@ public class Participant {
     @ManyToOne
     @JoinColumn(name = "event_id")
     private Event event;
+
+    // emails are stored lowercase so the (event_id, email) unique index behaves like (event_id, lower(email))
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        if (email != null) {
+            email = email.toLowerCase();
+        }
+    }
 }
@@ -1,21 +1,37 @@
 package com.codewithmike.eventify.participant;
 
 
+import com.codewithmike.eventify.common.CursorPage;
+import com.codewithmike.eventify.common.VersionStamp;
+import com.codewithmike.eventify.participant.dto.InvitationStatusUpdateRequestDto;
 import com.google.common.base.Preconditions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/participants")
@@ -24,13 +40,28 @@ import java.util.UUID;
         description = "Endpoints for uploading and retrieving participants for events"
 )
 public class ParticipantController {
+    private static final int MAX_SUMMARY_EVENTS = 1000;
+    private static final int MAX_STATUS_UPDATES = 1000;
+
     private final ParticipantService participantService;
+    private final ImportJobService importJobService;
+    private final RsvpStreamService rsvpStreamService;
 
-    public ParticipantController(ParticipantService participantService) {
+    public ParticipantController(ParticipantService participantService,
+                                 ImportJobService importJobService,
+                                 RsvpStreamService rsvpStreamService) {
         this.participantService = Preconditions.checkNotNull(
                 participantService,
                 "participantService cannot be null"
         );
+        this.importJobService = Preconditions.checkNotNull(
+                importJobService,
+                "importJobService cannot be null"
+        );
+        this.rsvpStreamService = Preconditions.checkNotNull(
+                rsvpStreamService,
+                "rsvpStreamService cannot be null"
+        );
     }
 
 
@@ -66,12 +97,98 @@ public class ParticipantController {
             @Parameter(description = "UUID of the event", required = true)
             @PathVariable UUID eventId,
             @Parameter(description = "CSV file containing participant data", required = true)
-            @RequestParam("file")MultipartFile file
+            @RequestParam("file")MultipartFile file,
+            @Parameter(description = "Stream the file in batches and return only counts plus a sample of skipped emails")
+            @RequestParam(name = "streaming", defaultValue = "false") boolean streaming
     ) throws Exception {
+        if (streaming) {
+            return participantService.importParticipantsFromCsv(eventId, file);
+        }
         return participantService.addParticipantsFromCsv(eventId, file);
     }
 
 
+    @Operation(
+            summary = "Start a background import of a participants CSV",
+            description = "Spools the CSV to disk and imports it in the background. Returns a job id right away; "
+            + "poll the job status endpoint for progress.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            description = "Import job accepted",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Event not found",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            description = "Import queue is full, retry later",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/upload/{eventId}/jobs")
+    public ResponseEntity<Map<String, Object>> submitImportJob(
+            @Parameter(description = "UUID of the event", required = true)
+            @PathVariable UUID eventId,
+            @Parameter(description = "CSV file containing participant data", required = true)
+            @RequestParam("file") MultipartFile file
+    ) throws Exception {
+        try {
+            ImportJob job = importJobService.submit(eventId, file);
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/api/participants/jobs/{jobId}")
+                            .buildAndExpand(job.getId())
+                            .toUri())
+                    .body(job.toMap());
+        } catch (RejectedExecutionException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "30")
+                    .body(Map.of("error", "import_queue_full"));
+        }
+    }
+
+
+    @Operation(
+            summary = "Get the status of a participant import job",
+            description = "Returns rows processed, added, skipped and failed so far, plus throughput in rows per second.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import job status",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Import job not found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getImportJob(
+            @Parameter(description = "UUID of the import job", required = true)
+            @PathVariable UUID jobId
+    ) {
+        return importJobService.findJob(jobId)
+                .map(ImportJob::toMap)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+
     @Operation(
             summary = "Get all participants for a specific event",
             description = "Returns all list of all participants registered for the given event ID",
@@ -99,8 +216,243 @@ public class ParticipantController {
             @PathVariable UUID eventId,
 
             @Parameter(description = "Pagination and sorting parameters")
-            Pageable pageable
+            Pageable pageable,
+
+            WebRequest request
     ) {
+        if (notModified(eventId, request)) {
+            return null;
+        }
         return participantService.getParticipantsForEvent(eventId, pageable);
     }
+
+
+    @Operation(
+            summary = "Get participants for an event using a cursor",
+            description = "Keyset-paginated participant listing ordered by id. Pass the returned nextCursor "
+            + "as cursor to fetch the following page; deep pages cost the same as the first one.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "One page of participants",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = CursorPage.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Event not found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("event/{eventId}/cursor")
+    public CursorPage<Participant> getParticipantsByCursor(
+            @Parameter(description = "UUID of the event", required = true)
+            @PathVariable UUID eventId,
+
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (1-500)")
+            @RequestParam(defaultValue = "50") int size,
+
+            WebRequest request
+    ) {
+        if (notModified(eventId, request)) {
+            return null;
+        }
+        return participantService.getParticipantsByCursor(eventId, cursor, Math.clamp(size, 1, 500));
+    }
+
+
+    @Operation(
+            summary = "Export participants of an event",
+            description = "Streams every participant of the event as CSV (same columns as the upload format) or NDJSON. "
+            + "Rows are written as they are read from the database, so exports of any size use constant memory.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Participant export",
+                            content = {
+                                    @Content(mediaType = "text/csv"),
+                                    @Content(mediaType = "application/x-ndjson",
+                                            schema = @Schema(implementation = ParticipantExportRow.class))
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Event not found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("event/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportParticipants(
+            @Parameter(description = "UUID of the event", required = true)
+            @PathVariable UUID eventId,
+
+            @Parameter(description = "Export format: csv or ndjson")
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        ParticipantExportFormat exportFormat = ParticipantExportFormat.from(format);
+        StreamingResponseBody body = participantService.exportParticipants(eventId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"participants-" + eventId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+
+    @Operation(
+            summary = "Get the RSVP summary of an event",
+            description = "Number of participants of the event that accepted, declined or are pending, plus the total.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "RSVP counts",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = RsvpSummary.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Event not found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("event/{eventId}/rsvp-summary")
+    public RsvpSummary getRsvpSummary(
+            @Parameter(description = "UUID of the event", required = true)
+            @PathVariable UUID eventId,
+
+            WebRequest request
+    ) {
+        if (notModified(eventId, request)) {
+            return null;
+        }
+        return participantService.getRsvpSummary(eventId);
+    }
+
+
+    @Operation(
+            summary = "Set the invitation status of many participants",
+            description = "Changes the status of up to " + MAX_STATUS_UPDATES + " participants of the event with one "
+            + "bulk update. Ids that are not participants of the event are returned as notFoundIds.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Number of participants updated and the ids that did not match",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Missing status, no participant ids or too many participant ids",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Event not found",
+                            content = @Content
+                    )
+            }
+    )
+    @PatchMapping("event/{eventId}/status")
+    public ResponseEntity<Map<String, Object>> updateInvitationStatuses(
+            @Parameter(description = "UUID of the event", required = true)
+            @PathVariable UUID eventId,
+
+            @RequestBody InvitationStatusUpdateRequestDto body
+    ) {
+        List<UUID> ids = body.getParticipantIds();
+        if (body.getStatus() == null || ids == null || ids.isEmpty() || ids.size() > MAX_STATUS_UPDATES) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<ParticipantExportRow> updated = participantService.updateInvitationStatuses(eventId, ids, body.getStatus());
+        Set<UUID> notFound = new LinkedHashSet<>(ids);
+        updated.forEach(row -> notFound.remove(row.getId()));
+
+        Map<String, Object> out = new HashMap<>();
+        out.put("updatedCount", updated.size());
+        out.put("status", body.getStatus());
+        out.put("notFoundIds", notFound);
+        return ResponseEntity.ok(out);
+    }
+
+
+    @Operation(
+            summary = "Stream RSVP changes of an event",
+            description = "Server-sent events named rsvp. The first one carries the current RSVP summary; after that "
+            + "every status change or imported batch arrives with the affected participants and the new counts. "
+            + "Clients that fall behind are disconnected and should reconnect.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Event stream",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = RsvpUpdate.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Event not found",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(value = "event/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRsvps(
+            @Parameter(description = "UUID of the event", required = true)
+            @PathVariable UUID eventId
+    ) {
+        return rsvpStreamService.subscribe(eventId);
+    }
+
+
+    // answers If-None-Match / If-Modified-Since from the event's participant change stamp; true means a 304 was set
+    private boolean notModified(UUID eventId, WebRequest request) {
+        VersionStamp stamp = participantService.currentParticipantsStamp(eventId);
+        return request.checkNotModified(stamp.etag(eventId), stamp.lastModifiedMillis());
+    }
+
+
+    @Operation(
+            summary = "Get RSVP summaries of several events",
+            description = "RSVP counts for up to " + MAX_SUMMARY_EVENTS + " events in one call, computed with a single "
+            + "grouped query. Results come back in the order the ids were given.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "RSVP counts per event",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = RsvpSummary.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "No event ids or too many event ids",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("rsvp-summary")
+    public ResponseEntity<List<RsvpSummary>> getRsvpSummaries(
+            @Parameter(description = "Comma-separated event UUIDs", required = true)
+            @RequestParam List<UUID> eventIds
+    ) {
+        if (eventIds.isEmpty() || eventIds.size() > MAX_SUMMARY_EVENTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(participantService.getRsvpSummaries(eventIds));
+    }
 }
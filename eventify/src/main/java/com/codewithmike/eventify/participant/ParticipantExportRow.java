@@ -0,0 +1,24 @@
+package com.codewithmike.eventify.participant;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Flat participant row for exports and RSVP streams; read straight from the query without loading entities or
+ * the event.
+ */
+@Value
+public class ParticipantExportRow {
+    UUID id;
+    String firstname;
+    String lastname;
+    String email;
+    String phoneNumber;
+    InvitationStatus invitationStatus;
+
+    public static ParticipantExportRow of(Participant p) {
+        return new ParticipantExportRow(p.getId(), p.getFirstname(), p.getLastname(), p.getEmail(),
+                p.getPhoneNumber(), p.getInvitationStatus());
+    }
+}
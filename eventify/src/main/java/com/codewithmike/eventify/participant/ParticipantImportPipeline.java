@@ -0,0 +1,168 @@
+package com.codewithmike.eventify.participant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Three-stage participant CSV import:
+ * <ol>
+ *     <li>a reader thread parses the input and cuts it into chunks of {@code eventify.import.batch-size} records,</li>
+ *     <li>a shared pool of {@code eventify.import.parse-threads} workers validates and normalizes chunks in parallel,</li>
+ *     <li>the calling thread writes the normalized chunks, one at a time, in input order.</li>
+ * </ol>
+ * At most {@code eventify.import.pipeline-queue-capacity} chunks per import are in flight between the reader
+ * and the writer, so memory stays bounded when the database is slower than parsing.
+ */
+@Component
+public class ParticipantImportPipeline {
+
+    private static final Future<List<Participant>> END = CompletableFuture.completedFuture(List.of());
+
+    @FunctionalInterface
+    public interface ChunkWriter {
+        void write(List<Participant> chunk);
+    }
+
+    private final ExecutorService normalizers;
+    private final Counter rowsFailed;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    public ParticipantImportPipeline(@Value("${eventify.import.batch-size:500}") int chunkSize,
+                                     @Value("${eventify.import.parse-threads:0}") int parseThreads,
+                                     @Value("${eventify.import.pipeline-queue-capacity:8}") int queueCapacity,
+                                     MeterRegistry meterRegistry) {
+        int threads = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        this.normalizers = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("participant-import-parse-", 0).daemon(true).factory());
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.rowsFailed = Counter.builder("eventify.import.rows")
+                .description("Participant rows written by CSV imports")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the import to completion, calling {@code writer} on the current thread for every chunk.
+     * If the writer throws, reading stops and the exception propagates.
+     */
+    public void run(InputStream in, ParticipantImportStats stats, ChunkWriter writer) throws IOException {
+        BlockingQueue<Future<List<Participant>>> pending = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread reader = Thread.ofVirtual()
+                .name("participant-import-reader")
+                .start(() -> read(in, stats, pending, cancelled));
+
+        try {
+            for (Future<List<Participant>> next = pending.take(); next != END; next = pending.take()) {
+                writer.write(next.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof UncheckedIOException io) throw io.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new RuntimeException(cause);
+        } finally {
+            cancelled.set(true);
+            try {
+                reader.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void read(InputStream in, ParticipantImportStats stats,
+                      BlockingQueue<Future<List<Participant>>> pending, AtomicBoolean cancelled) {
+        try (CSVParser parser = CSVParser.parse(new InputStreamReader(in, StandardCharsets.UTF_8),
+                ParticipantService.CSV_FORMAT)) {
+            List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+            for (CSVRecord r : parser) {
+                if (cancelled.get()) return;
+                stats.recordProcessed();
+                chunk.add(r);
+                if (chunk.size() >= chunkSize) {
+                    if (!enqueue(pending, normalizeAsync(chunk, stats), cancelled)) return;
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty() && !enqueue(pending, normalizeAsync(chunk, stats), cancelled)) return;
+            enqueue(pending, END, cancelled);
+        } catch (Exception ex) {
+            // includes the UncheckedIOException CSVParser throws while iterating
+            enqueue(pending, CompletableFuture.failedFuture(ex), cancelled);
+        }
+    }
+
+    private Future<List<Participant>> normalizeAsync(List<CSVRecord> records, ParticipantImportStats stats) {
+        return CompletableFuture.supplyAsync(() -> normalize(records, stats), normalizers);
+    }
+
+    // blocks while the writer is behind; gives up once the writer has stopped
+    private static boolean enqueue(BlockingQueue<Future<List<Participant>>> pending,
+                                   Future<List<Participant>> item, AtomicBoolean cancelled) {
+        try {
+            while (!pending.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get()) return false;
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private List<Participant> normalize(List<CSVRecord> records, ParticipantImportStats stats) {
+        List<Participant> participants = new ArrayList<>(records.size());
+        for (CSVRecord r : records) {
+            Participant p = toParticipant(r);
+            if (p == null) {
+                stats.recordFailed();
+                rowsFailed.increment();
+            } else {
+                participants.add(p);
+            }
+        }
+        return participants;
+    }
+
+    // null for rows that can't be imported: no email; missing trailing columns default to empty
+    static Participant toParticipant(CSVRecord r) {
+        if (!r.isSet("email") || r.get("email").isEmpty()) {
+            return null;
+        }
+
+        return Participant.builder()
+                .firstname(r.isSet("firstname") ? r.get("firstname") : "")
+                .lastname(r.isSet("lastname") ? r.get("lastname") : "")
+                .email(r.get("email").toLowerCase())
+                .phoneNumber(r.isSet("phone") ? r.get("phone") : "")
+                .invitationStatus(InvitationStatus.parseOrPending(r.isSet("status") ? r.get("status") : null))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        normalizers.shutdownNow();
+    }
+}
@@ -0,0 +1,78 @@
+package com.codewithmike.eventify.participant;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running counters for a participant CSV import.
+ * Only a bounded sample of skipped emails is kept, so memory stays flat regardless of file size.
+ * Counters are safe to read while the import is still running.
+ */
+public class ParticipantImportStats {
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final int skippedSampleSize;
+    private final Queue<String> skippedSample = new ConcurrentLinkedQueue<>();
+
+    public ParticipantImportStats(int skippedSampleSize) {
+        this.skippedSampleSize = skippedSampleSize;
+    }
+
+    void recordProcessed() {
+        processed.incrementAndGet();
+    }
+
+    void recordAdded(long count) {
+        added.addAndGet(count);
+    }
+
+    void recordSkipped(String email) {
+        if (skipped.incrementAndGet() <= skippedSampleSize) {
+            skippedSample.add(email);
+        }
+    }
+
+    void recordFailed() {
+        failed.incrementAndGet();
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getAdded() {
+        return added.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public List<String> getSkippedSample() {
+        return new ArrayList<>(skippedSample);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> out = new HashMap<>();
+        out.put("processedCount", getProcessed());
+        out.put("addedCount", getAdded());
+        out.put("skippedCount", getSkipped());
+        out.put("failedCount", getFailed());
+        out.put("skippedEmails", getSkippedSample());
+        out.put("skippedEmailsTruncated", getSkipped() > skippedSampleSize);
+        return out;
+    }
+}
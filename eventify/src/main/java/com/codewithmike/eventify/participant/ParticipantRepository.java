@@ -1,16 +1,78 @@
 package com.codewithmike.eventify.participant;
 
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.swing.text.html.Option;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ParticipantRepository extends JpaRepository<Participant, UUID> {
-    Page<Participant> findByEventId(UUID eventId, Pageable pageable);
-    Optional<Participant> findByIdAndEventId(UUID id, UUID eventId);
+    // listings join the event and filter on its owner, so ownership is checked by the same statement
+    Page<Participant> findByEventIdAndEventOwnerId(UUID eventId, UUID ownerId, Pageable pageable);
+
+    // keyset pagination on id; the Pageable must be unsorted and only carries the page size
+    Slice<Participant> findByEventIdAndEventOwnerIdOrderByIdAsc(UUID eventId, UUID ownerId, Pageable pageable);
+    Slice<Participant> findByEventIdAndEventOwnerIdAndIdGreaterThanOrderByIdAsc(UUID eventId, UUID ownerId, UUID id,
+                                                                                 Pageable pageable);
+
+    // one bulk UPDATE; rows of events the user doesn't own are left alone and not counted
+    @Transactional
+    @Modifying
+    @Query("""
+            update Participant p set p.invitationStatus = :status
+            where p.event.id = :eventId and p.id in :ids
+              and exists (select e.id from Event e where e.id = :eventId and e.owner.id = :ownerId)
+            """)
+    int updateStatusForOwner(@Param("eventId") UUID eventId,
+                             @Param("ownerId") UUID ownerId,
+                             @Param("ids") Collection<UUID> ids,
+                             @Param("status") InvitationStatus status);
+
+    @Query("""
+            select new com.codewithmike.eventify.participant.ParticipantExportRow(
+                p.id, p.firstname, p.lastname, p.email, p.phoneNumber, p.invitationStatus)
+            from Participant p
+            where p.event.id = :eventId and p.id in :ids
+            """)
+    List<ParticipantExportRow> findExportRows(@Param("eventId") UUID eventId, @Param("ids") Collection<UUID> ids);
+
+    @Query("select p.email from Participant p where p.event.id = :eventId")
+    List<String> findEmailsByEventId(@Param("eventId") UUID eventId);
+
+    @Query("select p.email from Participant p where p.event.id = :eventId and p.email in :emails")
+    List<String> findExistingEmails(@Param("eventId") UUID eventId, @Param("emails") Collection<String> emails);
+
+    // answered from the (event_id, invitation_status) index without reading participant rows
+    @Query("""
+            select new com.codewithmike.eventify.participant.RsvpCount(p.event.id, p.invitationStatus, count(p))
+            from Participant p
+            where p.event.id in :eventIds
+            group by p.event.id, p.invitationStatus
+            """)
+    List<RsvpCount> countByStatusForEvents(@Param("eventIds") Collection<UUID> eventIds);
+
+    // forward-only cursor for exports; must be consumed and closed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.codewithmike.eventify.participant.ParticipantExportRow(
+                p.id, p.firstname, p.lastname, p.email, p.phoneNumber, p.invitationStatus)
+            from Participant p
+            where p.event.id = :eventId
+            order by p.id
+            """)
+    Stream<ParticipantExportRow> streamExportRows(@Param("eventId") UUID eventId);
 }
@@ -1,34 +1,110 @@
 package com.codewithmike.eventify.participant;
 
+import com.codewithmike.eventify.change.ChangeLogService;
+import com.codewithmike.eventify.change.ChangeType;
+import com.codewithmike.eventify.common.CursorPage;
+import com.codewithmike.eventify.common.VersionStamp;
 import com.codewithmike.eventify.event.Event;
+import com.codewithmike.eventify.event.EventLookupCache;
 import com.codewithmike.eventify.event.EventRepository;
 import com.codewithmike.eventify.security.SecurityUtil;
-import com.codewithmike.eventify.user.User;
+import com.codewithmike.eventify.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStreamReader;
+import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "eventify.service", description = "Service method latency", histogram = true)
 public class ParticipantService {
 
+    static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader("firstname", "lastname", "email", "phone", "status")
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .build();
+
     private final ParticipantRepository participantRepository;
     private final EventRepository eventRepository;
+    private final EventLookupCache eventLookupCache;
+    private final ParticipantImportPipeline importPipeline;
+    private final ChangeLogService changeLog;
+    private final RsvpStreamService rsvpStream;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int skippedSampleSize;
+    private final Counter rowsAdded;
+    private final Counter rowsSkipped;
+    private final Timer chunkFlushTimer;
 
-    public ParticipantService(ParticipantRepository participantRepository, EventRepository eventRepository) {
+    public ParticipantService(ParticipantRepository participantRepository,
+                              EventRepository eventRepository,
+                              EventLookupCache eventLookupCache,
+                              ParticipantImportPipeline importPipeline,
+                              ChangeLogService changeLog,
+                              RsvpStreamService rsvpStream,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${eventify.import.skipped-sample-size:100}") int skippedSampleSize) {
         this.participantRepository = participantRepository;
         this.eventRepository = eventRepository;
+        this.eventLookupCache = eventLookupCache;
+        this.importPipeline = importPipeline;
+        this.changeLog = changeLog;
+        this.rsvpStream = rsvpStream;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.skippedSampleSize = skippedSampleSize;
+        this.rowsAdded = Counter.builder("eventify.import.rows")
+                .description("Participant rows written by CSV imports")
+                .tag("result", "added")
+                .register(meterRegistry);
+        this.rowsSkipped = Counter.builder("eventify.import.rows")
+                .description("Participant rows written by CSV imports")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.chunkFlushTimer = Timer.builder("eventify.import.chunk.flush")
+                .description("Time to write and commit one import chunk")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     public Map<String, Object> addParticipantsFromCsv(UUID eventId, MultipartFile file) throws Exception {
-        User u = SecurityUtil.currentUser();
+        UserPrincipal u = SecurityUtil.currentUser();
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         // check ownership
@@ -38,28 +114,16 @@ public class ParticipantService {
 
         List<Participant> added = new ArrayList<>();
         List<String> skipped = new ArrayList<>();
-        Set<String> existing = new HashSet<>();
-        participantRepository.findByEventId(eventId, Pageable.ofSize(Integer.MAX_VALUE))
-                .forEach(p -> existing.add(p.getEmail().toLowerCase()));
+        Set<String> existing = new HashSet<>(participantRepository.findEmailsByEventId(eventId));
 
         try (CSVParser parser = CSVParser.parse(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8),
-                CSVFormat.DEFAULT.builder()
-                        .setHeader("firstname", "lastname", "email", "phone", "status")
-                        .setSkipHeaderRecord(true)
-                        .setIgnoreHeaderCase(true)
-                        .setTrim(true)
-                        .build()
-        )) {
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8), CSV_FORMAT)) {
             for (CSVRecord r : parser) {
                 String firstname = r.get("firstname");
                 String lastname = r.get("lastname");
                 String email = r.get("email").toLowerCase();
                 String phone = r.isMapped("phone") ? r.get("phone") : "";
-                String statusStr = r.isMapped("status") ? r.get("status") : "PENDING";
-                InvitationStatus status;
-                try { status = InvitationStatus.valueOf(statusStr.toUpperCase()); }
-                catch (Exception ex) { status = InvitationStatus.PENDING; }
+                InvitationStatus status = InvitationStatus.parseOrPending(r.isMapped("status") ? r.get("status") : null);
 
                 if (existing.contains(email)) {
                     skipped.add(email);
@@ -79,6 +143,11 @@ public class ParticipantService {
                 existing.add(email);
             }
         }
+        if (!added.isEmpty()) {
+            changeLog.recordParticipants(eventId, ChangeType.CREATED, added.stream().map(Participant::getId).toList());
+            eventRepository.bumpParticipantsVersion(eventId, LocalDateTime.now());
+            rsvpStream.publishAfterCommit(eventId, added.stream().map(ParticipantExportRow::of).toList());
+        }
 
         Map<String,Object> out = new HashMap<>();
         out.put("addedCount", added.size());
@@ -88,22 +157,253 @@ public class ParticipantService {
         return out;
     }
 
+    /**
+     * Streaming variant of {@link #addParticipantsFromCsv}: rows are read incrementally and written
+     * in JDBC batches, and the response only carries counts plus a bounded sample of skipped emails.
+     */
+    public Map<String, Object> importParticipantsFromCsv(UUID eventId, MultipartFile file) throws IOException {
+        UserPrincipal u = SecurityUtil.currentUser();
+        eventLookupCache.requireOwnedBy(eventId, u.getId());
+
+        ParticipantImportStats stats = new ParticipantImportStats(skippedSampleSize);
+        try (InputStream in = file.getInputStream()) {
+            importParticipants(eventId, in, stats);
+        }
+        return stats.toMap();
+    }
+
+    /**
+     * Reads participants from the CSV stream and persists them in chunks of {@code eventify.import.batch-size}
+     * through {@link ParticipantImportPipeline}: parsing and normalization run in parallel, writes stay
+     * sequential. Each chunk runs in its own transaction and the persistence context is cleared afterwards.
+     * Ownership of the event must be checked by the caller.
+     */
+    public void importParticipants(UUID eventId, InputStream in, ParticipantImportStats stats) throws IOException {
+        importPipeline.run(in, stats, chunk -> writeChunk(eventId, chunk, stats));
+    }
+
+    private void writeChunk(UUID eventId, List<Participant> chunk, ParticipantImportStats stats) {
+        Timer.Sample flush = Timer.start();
+        List<String> skipped = new ArrayList<>();
+        int added = 0;
+
+        try {
+            Integer count = transactionTemplate.execute(tx -> persistNew(eventId, chunk, skipped));
+            added = count == null ? 0 : count;
+        } catch (DataIntegrityViolationException | PersistenceException ex) {
+            // another import inserted some of these emails after our lookup; the unique index
+            // rejected the whole chunk, so retry it row by row and count the losers as skipped
+            skipped.clear();
+            for (Participant p : chunk) {
+                p.setId(null);
+                try {
+                    Integer count = transactionTemplate.execute(tx -> persistNew(eventId, List.of(p), skipped));
+                    added += count == null ? 0 : count;
+                } catch (DataIntegrityViolationException | PersistenceException rowEx) {
+                    skipped.add(p.getEmail());
+                }
+            }
+        }
+
+        flush.stop(chunkFlushTimer);
+        stats.recordAdded(added);
+        skipped.forEach(stats::recordSkipped);
+        rowsAdded.increment(added);
+        rowsSkipped.increment(skipped.size());
+    }
+
+    // inserts the participants whose email is not yet registered for the event; must run in a transaction
+    private int persistNew(UUID eventId, List<Participant> participants, List<String> skipped) {
+        Set<String> emails = new HashSet<>();
+        participants.forEach(p -> emails.add(p.getEmail()));
+        Set<String> existing = new HashSet<>(participantRepository.findExistingEmails(eventId, emails));
+
+        Event event = entityManager.getReference(Event.class, eventId);
+        List<UUID> added = new ArrayList<>(participants.size());
+        List<ParticipantExportRow> rows = new ArrayList<>(participants.size());
+        for (Participant p : participants) {
+            if (!existing.add(p.getEmail())) {
+                skipped.add(p.getEmail());
+                continue;
+            }
+            p.setEvent(event);
+            entityManager.persist(p);
+            added.add(p.getId());
+            rows.add(ParticipantExportRow.of(p));
+        }
+        if (!added.isEmpty()) {
+            changeLog.recordParticipants(eventId, ChangeType.CREATED, added);
+            eventRepository.bumpParticipantsVersion(eventId, LocalDateTime.now());
+            rsvpStream.publishAfterCommit(eventId, rows);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return added.size();
+    }
+
+    /** Change stamp of the event's participants, for conditional GETs on participant listings. */
+    public VersionStamp currentParticipantsStamp(UUID eventId) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        return eventRepository.findParticipantsStamp(eventId, u.getId())
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+    }
+
     public Page<Participant> getParticipantsForEvent(UUID eventId, Pageable pageable) {
-        User u = SecurityUtil.currentUser();
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found"));
-        if (!event.getOwner().getId().equals(u.getId())) throw new RuntimeException("Access denied");
-        return participantRepository.findByEventId(eventId, pageable);
+        UserPrincipal u = SecurityUtil.currentUser();
+        Page<Participant> page = participantRepository.findByEventIdAndEventOwnerId(eventId, u.getId(), pageable);
+        if (page.isEmpty()) {
+            // nothing came back: either there is nothing to show, or the event is missing or not ours
+            eventLookupCache.requireOwnedBy(eventId, u.getId());
+        }
+        return page;
     }
 
-    public Participant updateInvitationStatus(UUID eventId, UUID participantId, InvitationStatus status) {
-        User u = SecurityUtil.currentUser();
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found or access denied"));
-        if (!event.getOwner().getId().equals(u.getId())) throw new RuntimeException("Access denied");
+    /**
+     * Keyset-paginated listing of an event's participants ordered by id. No count query is issued.
+     */
+    public CursorPage<Participant> getParticipantsByCursor(UUID eventId, String cursor, int size) {
+        UserPrincipal u = SecurityUtil.currentUser();
 
-        Participant p = participantRepository.findByIdAndEventId(participantId, eventId)
-                .orElseThrow(() -> new RuntimeException("Participant not found"));
+        Pageable limit = PageRequest.of(0, size);
+        Slice<Participant> slice;
+        if (cursor == null) {
+            slice = participantRepository.findByEventIdAndEventOwnerIdOrderByIdAsc(eventId, u.getId(), limit);
+        } else {
+            UUID after;
+            try { after = UUID.fromString(CursorPage.decodeCursor(cursor)[0]); }
+            catch (IllegalArgumentException ex) { throw new RuntimeException("Invalid cursor"); }
+            slice = participantRepository.findByEventIdAndEventOwnerIdAndIdGreaterThanOrderByIdAsc(
+                    eventId, u.getId(), after, limit);
+        }
+        if (slice.isEmpty()) {
+            eventLookupCache.requireOwnedBy(eventId, u.getId());
+        }
 
-        p.setInvitationStatus(status);
-        return participantRepository.save(p);
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Participant last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = CursorPage.encodeCursor(last.getId().toString());
+        }
+        return new CursorPage<>(slice.getContent(), nextCursor);
+    }
+
+    /**
+     * Checks ownership now and returns a body that streams the event's participants when written.
+     * Rows come from a forward-only cursor and go straight to the output stream, so memory use does
+     * not depend on the number of participants. The CSV columns match the import format.
+     */
+    public StreamingResponseBody exportParticipants(UUID eventId, ParticipantExportFormat format) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        eventLookupCache.requireOwnedBy(eventId, u.getId());
+
+        return out -> readOnlyTransactionTemplate.executeWithoutResult(tx -> {
+            try (Stream<ParticipantExportRow> rows = participantRepository.streamExportRows(eventId)) {
+                if (format == ParticipantExportFormat.CSV) {
+                    writeCsv(rows, out);
+                } else {
+                    writeNdjson(rows, out);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void writeCsv(Stream<ParticipantExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CSVPrinter printer = new CSVPrinter(writer, CSV_FORMAT.builder().setSkipHeaderRecord(false).build());
+        for (ParticipantExportRow row : (Iterable<ParticipantExportRow>) rows::iterator) {
+            printer.printRecord(row.getFirstname(), row.getLastname(), row.getEmail(),
+                    row.getPhoneNumber(), row.getInvitationStatus());
+        }
+        printer.flush();
+    }
+
+    private void writeNdjson(Stream<ParticipantExportRow> rows, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out);
+        SequenceWriter writer = objectMapper.writerFor(ParticipantExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(buffered);
+        boolean any = false;
+        for (ParticipantExportRow row : (Iterable<ParticipantExportRow>) rows::iterator) {
+            writer.write(row);
+            any = true;
+        }
+        writer.flush();
+        if (any) {
+            buffered.write('\n');
+        }
+        buffered.flush();
+    }
+
+    public RsvpSummary getRsvpSummary(UUID eventId) {
+        return getRsvpSummaries(List.of(eventId)).get(0);
+    }
+
+    /**
+     * Participant counts by invitation status for each of the given events, in the order given.
+     * All events must belong to the current user; a single event is checked through the lookup cache,
+     * several in one count over the primary key. One grouped query then covers every event.
+     */
+    public List<RsvpSummary> getRsvpSummaries(Collection<UUID> eventIds) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        Set<UUID> ids = new LinkedHashSet<>(eventIds);
+        if (ids.size() == 1) {
+            eventLookupCache.requireOwnedBy(ids.iterator().next(), u.getId());
+        } else if (eventRepository.countOwnedBy(ids, u.getId()) < ids.size()) {
+            throw new RuntimeException("Event not found");
+        }
+
+        Map<UUID, List<RsvpCount>> byEvent = new HashMap<>();
+        for (RsvpCount c : participantRepository.countByStatusForEvents(ids)) {
+            byEvent.computeIfAbsent(c.getEventId(), id -> new ArrayList<>()).add(c);
+        }
+
+        List<RsvpSummary> out = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            out.add(RsvpSummary.of(id, byEvent.getOrDefault(id, List.of())));
+        }
+        return out;
+    }
+
+    public ParticipantExportRow updateInvitationStatus(UUID eventId, UUID participantId, InvitationStatus status) {
+        List<ParticipantExportRow> updated = updateInvitationStatuses(eventId, List.of(participantId), status);
+        if (updated.isEmpty()) {
+            throw new RuntimeException("Participant not found");
+        }
+        return updated.get(0);
+    }
+
+    /**
+     * Sets the status of many participants of the current user's event with one bulk UPDATE that checks
+     * ownership itself. Ids that are not participants of the event are ignored.
+     *
+     * @return the updated participants
+     */
+    public List<ParticipantExportRow> updateInvitationStatuses(UUID eventId, Collection<UUID> participantIds,
+                                                               InvitationStatus status) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        Set<UUID> ids = new LinkedHashSet<>(participantIds);
+
+        List<ParticipantExportRow> updated = transactionTemplate.execute(tx -> {
+            if (participantRepository.updateStatusForOwner(eventId, u.getId(), ids, status) == 0) {
+                return List.of();
+            }
+            List<ParticipantExportRow> rows = participantRepository.findExportRows(eventId, ids);
+            changeLog.recordParticipants(eventId, ChangeType.UPDATED,
+                    rows.stream().map(ParticipantExportRow::getId).toList());
+            eventRepository.bumpParticipantsVersion(eventId, LocalDateTime.now());
+            rsvpStream.publishAfterCommit(eventId, rows);
+            return rows;
+        });
+
+        if (updated == null || updated.isEmpty()) {
+            // tell a missing or foreign event apart from ids that simply didn't match
+            eventLookupCache.requireOwnedBy(eventId, u.getId());
+            return List.of();
+        }
+        return updated;
     }
 }
@@ -0,0 +1,15 @@
+package com.codewithmike.eventify.participant;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * One row of the grouped participant count: how many participants of an event have a given status.
+ */
+@Value
+public class RsvpCount {
+    UUID eventId;
+    InvitationStatus status;
+    long count;
+}
@@ -0,0 +1,88 @@
+package com.codewithmike.eventify.participant;
+
+import com.codewithmike.eventify.common.SseBroadcaster;
+import com.codewithmike.eventify.event.EventLookupCache;
+import com.codewithmike.eventify.security.SecurityUtil;
+import com.codewithmike.eventify.security.UserPrincipal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pushes RSVP changes of an event to open dashboards over server-sent events, replacing polling of the
+ * participant listing. Status changes and imported chunks are published once they commit, with the event's
+ * RSVP counts recomputed a single time per change and only while someone is listening.
+ */
+@Service
+public class RsvpStreamService {
+
+    private final ParticipantRepository participantRepository;
+    private final EventLookupCache eventLookupCache;
+    private final SseBroadcaster<UUID, RsvpUpdate> broadcaster;
+
+    public RsvpStreamService(ParticipantRepository participantRepository,
+                             EventLookupCache eventLookupCache,
+                             MeterRegistry meterRegistry,
+                             @Value("${eventify.rsvp.stream-queue-capacity:64}") int queueCapacity,
+                             @Value("${eventify.rsvp.stream-timeout:30m}") Duration timeout) {
+        this.participantRepository = participantRepository;
+        this.eventLookupCache = eventLookupCache;
+        this.broadcaster = new SseBroadcaster<>("rsvp", queueCapacity, timeout.toMillis());
+        Gauge.builder("eventify.rsvp.stream.subscribers", broadcaster, SseBroadcaster::subscriberCount)
+                .description("Open RSVP streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("eventify.rsvp.stream.dropped", broadcaster, SseBroadcaster::droppedCount)
+                .description("RSVP streams disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream on the current user's event; the first message is the current RSVP summary. */
+    public SseEmitter subscribe(UUID eventId) {
+        UserPrincipal u = SecurityUtil.currentUser();
+        eventLookupCache.requireOwnedBy(eventId, u.getId());
+
+        return broadcaster.subscribe(eventId, new RsvpUpdate(eventId, List.of(), summaryOf(eventId)));
+    }
+
+    /** Publishes the changed participants once the current transaction commits (right away outside one). */
+    public void publishAfterCommit(UUID eventId, List<ParticipantExportRow> participants) {
+        if (!broadcaster.hasSubscribers(eventId) || participants.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(eventId, participants);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(eventId, participants);
+            }
+        });
+    }
+
+    private void publish(UUID eventId, List<ParticipantExportRow> participants) {
+        if (broadcaster.hasSubscribers(eventId)) {
+            broadcaster.publish(eventId, new RsvpUpdate(eventId, participants, summaryOf(eventId)));
+        }
+    }
+
+    private RsvpSummary summaryOf(UUID eventId) {
+        return RsvpSummary.of(eventId, participantRepository.countByStatusForEvents(List.of(eventId)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        broadcaster.shutdown();
+    }
+}
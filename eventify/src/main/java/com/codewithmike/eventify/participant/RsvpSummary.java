@@ -0,0 +1,33 @@
+package com.codewithmike.eventify.participant;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Participant counts of one event by invitation status.
+ */
+@Value
+public class RsvpSummary {
+    UUID eventId;
+    long accepted;
+    long pending;
+    long declined;
+
+    public long getTotal() {
+        return accepted + pending + declined;
+    }
+
+    static RsvpSummary of(UUID eventId, List<RsvpCount> counts) {
+        long accepted = 0, pending = 0, declined = 0;
+        for (RsvpCount c : counts) {
+            switch (c.getStatus()) {
+                case ACCEPTED -> accepted += c.getCount();
+                case PENDING -> pending += c.getCount();
+                case DECLINED -> declined += c.getCount();
+            }
+        }
+        return new RsvpSummary(eventId, accepted, pending, declined);
+    }
+}
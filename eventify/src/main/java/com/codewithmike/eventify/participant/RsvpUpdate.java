@@ -0,0 +1,17 @@
+package com.codewithmike.eventify.participant;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Message on an event's RSVP stream: the participants that were just added or changed (empty for the
+ * snapshot sent on connect) and the event's RSVP counts after the change.
+ */
+@Value
+public class RsvpUpdate {
+    UUID eventId;
+    List<ParticipantExportRow> participants;
+    RsvpSummary summary;
+}
@@ -0,0 +1,19 @@
+package com.codewithmike.eventify.participant.dto;
+
+import com.codewithmike.eventify.participant.InvitationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InvitationStatusUpdateRequestDto {
+    private List<UUID> participantIds;
+    private InvitationStatus status;
+}
@@ -0,0 +1,52 @@
+package com.codewithmike.eventify.ratelimit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outcome of {@link UserRateLimiter#tryAcquire}. An admitted request holds a concurrency slot
+ * until {@link #release()} is called.
+ */
+public final class Admission {
+
+    static final Admission UNLIMITED = new Admission(null, true, 0, null);
+
+    private final TokenBucket bucket;
+    private final boolean allowed;
+    private final long retryAfterSeconds;
+    private final String reason;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Admission(TokenBucket bucket, boolean allowed, long retryAfterSeconds, String reason) {
+        this.bucket = bucket;
+        this.allowed = allowed;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.reason = reason;
+    }
+
+    static Admission admitted(TokenBucket bucket) {
+        return new Admission(bucket, true, 0, null);
+    }
+
+    static Admission rejected(long retryAfterSeconds, String reason) {
+        return new Admission(null, false, retryAfterSeconds, reason);
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /** Gives back the concurrency slot; safe to call more than once. */
+    public void release() {
+        if (bucket != null && released.compareAndSet(false, true)) {
+            bucket.exit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.codewithmike.eventify.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests doing database work at once to the size of the connection pool. With
+ * virtual threads Tomcat accepts thousands of concurrent requests; without this they would all queue
+ * inside Hikari and fail with connection timeouts under a burst. Here they wait, cheaply, for a permit
+ * instead, up to {@code eventify.db-bulkhead.max-wait}, and only then are turned away with 503.
+ */
+@Component
+public class DatabaseBulkhead {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+
+    public DatabaseBulkhead(@Value("${eventify.db-bulkhead.enabled:false}") boolean enabled,
+                            @Value("${eventify.db-bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:20}}") int permits,
+                            @Value("${eventify.db-bulkhead.max-wait:10s}") Duration maxWait,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejected = Counter.builder("eventify.db.bulkhead.rejected")
+                .description("Requests turned away after waiting too long for a database permit")
+                .register(meterRegistry);
+        Gauge.builder("eventify.db.bulkhead.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a database permit")
+                .register(meterRegistry);
+        Gauge.builder("eventify.db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Free database permits")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Waits for a permit; false if none freed up within the configured wait. */
+    public boolean enter() throws InterruptedException {
+        if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void exit() {
+        permits.release();
+    }
+}
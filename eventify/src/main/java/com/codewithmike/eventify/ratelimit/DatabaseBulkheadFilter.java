@@ -0,0 +1,106 @@
+package com.codewithmike.eventify.ratelimit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs API requests through the {@link DatabaseBulkhead}. Server-sent event streams are left out: they stay
+ * open for minutes and only touch the database briefly per message. So are the auth endpoints: a login spends
+ * most of its time waiting on the BCrypt pool, which has its own bound, and must not sit on a permit meanwhile. Other async responses, such as
+ * streamed exports, keep their permit until they complete because they read from the database throughout.
+ */
+public class DatabaseBulkheadFilter extends OncePerRequestFilter {
+
+    private final DatabaseBulkhead bulkhead;
+
+    public DatabaseBulkheadFilter(DatabaseBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        String path = req.getRequestURI().substring(req.getContextPath().length());
+        return !bulkhead.isEnabled() || !path.startsWith("/api/") || path.startsWith("/api/auth/")
+                || path.endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = bulkhead.enter();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            resp.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            resp.setHeader("Retry-After", "1");
+            resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            resp.getWriter().write("{\"error\":\"database_busy\"}");
+            return;
+        }
+
+        Permit permit = new Permit(bulkhead);
+        boolean async = false;
+        try {
+            chain.doFilter(req, resp);
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new ReleaseOnComplete(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    private static final class Permit {
+        private final DatabaseBulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(DatabaseBulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.exit();
+            }
+        }
+    }
+
+    private record ReleaseOnComplete(Permit permit) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
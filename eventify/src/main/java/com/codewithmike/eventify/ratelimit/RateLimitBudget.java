@@ -0,0 +1,14 @@
+package com.codewithmike.eventify.ratelimit;
+
+import lombok.Value;
+
+/**
+ * Per-user allowance for one {@link RateLimitClass}: a token bucket holding up to {@code capacity}
+ * requests and refilled at {@code refillPerMinute}, plus a cap on requests running at the same time.
+ */
+@Value
+public class RateLimitBudget {
+    int capacity;
+    int refillPerMinute;
+    int maxConcurrent;
+}
@@ -0,0 +1,24 @@
+package com.codewithmike.eventify.ratelimit;
+
+/**
+ * Groups of expensive endpoints that share a per-user budget.
+ */
+public enum RateLimitClass {
+    /** {@code GET /api/events/search} */
+    SEARCH,
+    /** participant uploads and import jobs, participant exports and bulk event writes */
+    HEAVY;
+
+    /** The class the request falls into, or null if it is not rate limited. */
+    public static RateLimitClass classify(String method, String path) {
+        if ("GET".equals(method) && path.equals("/api/events/search")) {
+            return SEARCH;
+        }
+        if (path.startsWith("/api/events/bulk")
+                || ("POST".equals(method) && path.startsWith("/api/participants/upload/"))
+                || ("GET".equals(method) && path.startsWith("/api/participants/event/") && path.endsWith("/export"))) {
+            return HEAVY;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.codewithmike.eventify.ratelimit;
+
+import com.codewithmike.eventify.security.SecurityUtil;
+import com.codewithmike.eventify.security.UserPrincipal;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies {@link UserRateLimiter} to the authenticated user of requests that hit an expensive endpoint.
+ * Runs after the JWT filter; over-budget requests get 429 with {@code Retry-After}. For async responses,
+ * such as streamed exports, the concurrency slot is held until the response completes.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final UserRateLimiter rateLimiter;
+
+    public RateLimitFilter(UserRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitClass rateLimitClass = RateLimitClass.classify(req.getMethod(),
+                req.getRequestURI().substring(req.getContextPath().length()));
+        UserPrincipal u = rateLimitClass == null ? null : SecurityUtil.currentUser();
+        if (u == null) {
+            chain.doFilter(req, resp);
+            return;
+        }
+
+        Admission admission = rateLimiter.tryAcquire(u.getId(), rateLimitClass);
+        if (!admission.isAllowed()) {
+            resp.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            resp.setHeader("Retry-After", String.valueOf(admission.getRetryAfterSeconds()));
+            resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            resp.getWriter().write("{\"error\":\"" + admission.getReason() + "\"}");
+            return;
+        }
+
+        boolean async = false;
+        try {
+            chain.doFilter(req, resp);
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new ReleaseOnComplete(admission));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                admission.release();
+            }
+        }
+    }
+
+    private record ReleaseOnComplete(Admission admission) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admission.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            admission.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            admission.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
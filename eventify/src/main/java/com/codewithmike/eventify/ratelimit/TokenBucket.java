@@ -0,0 +1,78 @@
+package com.codewithmike.eventify.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket plus in-flight counter for one user and endpoint class.
+ * All updates are compare-and-set loops, so contended requests never block each other.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    // in-flight count of a bucket the sweep has taken out of use; no request can enter it any more
+    private static final int RETIRED = -1;
+
+    private final RateLimitBudget budget;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastUsed;
+
+    TokenBucket(RateLimitBudget budget, long now) {
+        this.budget = budget;
+        this.tokensPerNano = budget.getRefillPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        this.state = new AtomicReference<>(new State(budget.getCapacity(), now));
+        this.lastUsed = now;
+    }
+
+    /** Marks the bucket as in use, which keeps it from being swept as idle. */
+    void touch(long now) {
+        lastUsed = now;
+    }
+
+    /** Takes a token; returns 0 on success, otherwise the nanoseconds until the next token is due. */
+    long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            long at = Math.max(now, current.refilledAt());
+            double tokens = Math.min(budget.getCapacity(),
+                    current.tokens() + (at - current.refilledAt()) * tokensPerNano);
+            if (tokens < 1) {
+                return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : Long.MAX_VALUE;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, at))) {
+                return 0;
+            }
+        }
+    }
+
+    boolean tryEnter() {
+        while (true) {
+            int running = inFlight.get();
+            if (running == RETIRED || running >= budget.getMaxConcurrent()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    // swaps an idle bucket's in-flight count from 0 to RETIRED, racing tryEnter on the same counter, so a request
+    // either gets in first or finds the bucket retired; idle buckets are full again, so dropping them loses nothing
+    boolean retireIfIdle(long now, long idleNanos) {
+        return now - lastUsed > idleNanos && inFlight.compareAndSet(0, RETIRED);
+    }
+
+    boolean isRetired() {
+        return inFlight.get() == RETIRED;
+    }
+}
@@ -0,0 +1,116 @@
+package com.codewithmike.eventify.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user admission control for expensive endpoints: a token bucket and a concurrency cap for every
+ * (user, {@link RateLimitClass}) pair. Buckets are created on first use in a {@link ConcurrentHashMap}
+ * and swept once they have been idle for {@code eventify.rate-limit.idle-timeout}.
+ */
+@Component
+public class UserRateLimiter {
+
+    private record Key(UUID userId, RateLimitClass rateLimitClass) {
+    }
+
+    private final boolean enabled;
+    private final Map<RateLimitClass, RateLimitBudget> budgets = new EnumMap<>(RateLimitClass.class);
+    private final long idleNanos;
+    private final Map<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public UserRateLimiter(@Value("${eventify.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${eventify.rate-limit.search.capacity:30}") int searchCapacity,
+                           @Value("${eventify.rate-limit.search.refill-per-minute:60}") int searchRefill,
+                           @Value("${eventify.rate-limit.search.max-concurrent:4}") int searchConcurrent,
+                           @Value("${eventify.rate-limit.heavy.capacity:5}") int heavyCapacity,
+                           @Value("${eventify.rate-limit.heavy.refill-per-minute:10}") int heavyRefill,
+                           @Value("${eventify.rate-limit.heavy.max-concurrent:2}") int heavyConcurrent,
+                           @Value("${eventify.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        budgets.put(RateLimitClass.SEARCH, new RateLimitBudget(searchCapacity, searchRefill, searchConcurrent));
+        budgets.put(RateLimitClass.HEAVY, new RateLimitBudget(heavyCapacity, heavyRefill, heavyConcurrent));
+        this.idleNanos = idleTimeout.toNanos();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("eventify.ratelimit.buckets", buckets, Map::size)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits the request if the user has a token left and is below the concurrency cap for the class.
+     * Admitted requests must {@link Admission#release()} when they finish.
+     */
+    public Admission tryAcquire(UUID userId, RateLimitClass rateLimitClass) {
+        if (!enabled) {
+            return Admission.UNLIMITED;
+        }
+
+        return tryAcquire(userId, rateLimitClass, System.nanoTime());
+    }
+
+    Admission tryAcquire(UUID userId, RateLimitClass rateLimitClass, long now) {
+        // lock-free on the hot path: the map is only written when the bucket is missing, or to drop one the
+        // sweep retired between our lookup and tryEnter
+        Key key = new Key(userId, rateLimitClass);
+        TokenBucket bucket;
+        while (true) {
+            bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(budgets.get(k.rateLimitClass()), now));
+            }
+            bucket.touch(now);
+            if (bucket.tryEnter()) {
+                break;
+            }
+            if (!bucket.isRetired()) {
+                return reject(rateLimitClass, 1, "too_many_concurrent_requests");
+            }
+            buckets.remove(key, bucket);
+        }
+
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            bucket.exit();
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            return reject(rateLimitClass, seconds, "rate_limited");
+        }
+        return Admission.admitted(bucket);
+    }
+
+    private Admission reject(RateLimitClass rateLimitClass, long retryAfterSeconds, String reason) {
+        Counter.builder("eventify.ratelimit.rejected")
+                .description("Requests rejected by the per-user rate limiter")
+                .tag("class", rateLimitClass.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return Admission.rejected(retryAfterSeconds, reason);
+    }
+
+    @Scheduled(fixedDelayString = "${eventify.rate-limit.sweep-interval:1m}")
+    void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    // a retired bucket can't be entered, so a request that looked it up just before removal retries on a new one
+    void evictIdleBuckets(long now) {
+        for (Key key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (k, bucket) -> bucket.retireIfIdle(now, idleNanos) ? null : bucket);
+        }
+    }
+
+}
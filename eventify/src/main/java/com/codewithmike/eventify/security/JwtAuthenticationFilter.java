@@ -1,6 +1,7 @@
 package com.codewithmike.eventify.security;
 
-import com.codewithmike.eventify.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,14 +14,27 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserPrincipalCache userPrincipalCache, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.validTokenTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("eventify.jwt.verify")
+                .description("Time to parse and validate the bearer token, including cache hits")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     @Override
@@ -31,15 +45,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getEmail(token);
-                userRepository.findByEmail(email).ifPresent(user -> {
-                    var auth = new UsernamePasswordAuthenticationToken(
-                            user, null, Collections.emptyList()
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                });
-            }
+            Timer.Sample sample = Timer.start();
+            Optional<VerifiedToken> result = jwtUtil.verify(token);
+            sample.stop(result.isPresent() ? validTokenTimer : invalidTokenTimer);
+
+            result.ifPresent(verified ->
+                    userPrincipalCache.findByEmail(verified.getSubject()).ifPresent(user -> {
+                        var auth = new UsernamePasswordAuthenticationToken(
+                                user, null, Collections.emptyList()
+                        );
+                        SecurityContextHolder.getContext().setAuthentication(auth);
+                    })
+            );
         }
         chain.doFilter(req, resp);
     }
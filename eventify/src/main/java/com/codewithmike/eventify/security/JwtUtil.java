@@ -1,16 +1,45 @@
 package com.codewithmike.eventify.security;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
     private final long expirationMs = 1000L * 60 * 60 * 24; // 24h
 
+    // parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // tokens whose signature was already verified; nothing outlives the maximum token lifetime,
+    // and each entry is still checked against its own expiry on read
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtUtil(@Value("${eventify.security.token-cache-size:10000}") long tokenCacheSize) {
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfterWrite(Duration.ofMillis(expirationMs))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, verifiedTokens, "security.verified_tokens");
+    }
+
     public String generateToken(String email) {
         Date now = new Date();
         return Jwts.builder()
@@ -21,14 +50,51 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token once, returning its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Returns the verified token, served from the cache for repeat callers.
+     * Empty if the token is invalid or expired.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        Instant now = Instant.now();
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(token);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parseClaims(token);
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    expiration == null ? null : expiration.toInstant()
+            );
+            verifiedTokens.put(token, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String getEmail(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -0,0 +1,115 @@
+package com.codewithmike.eventify.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Runs BCrypt work on a dedicated, bounded pool so a burst of logins can only occupy
+ * {@code eventify.security.hashing.threads} cores instead of every request thread.
+ * Work beyond {@code eventify.security.hashing.queue-capacity} waiting jobs is rejected immediately.
+ * Callers wait at most {@code eventify.security.hashing.timeout}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${eventify.security.hashing.threads:0}") int threads,
+                                  @Value("${eventify.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${eventify.security.hashing.timeout:5s}") Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeout = timeout;
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("eventify.password.hash.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("eventify.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashing jobs waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("eventify.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing jobs running")
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("eventify.password.hash")
+                .description("Time spent in BCrypt, excluding queueing")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * @throws RejectedExecutionException if the hashing pool is saturated or the wait times out
+     */
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * @throws RejectedExecutionException if the hashing pool is saturated or the wait times out
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /** Whether the hash was made with a lower cost factor than the configured one. */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw ex;
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing password");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,8 +1,16 @@
 package com.codewithmike.eventify.security;
 
-import com.codewithmike.eventify.user.UserRepository;
+import com.codewithmike.eventify.ratelimit.DatabaseBulkhead;
+import com.codewithmike.eventify.ratelimit.DatabaseBulkheadFilter;
+import com.codewithmike.eventify.ratelimit.RateLimitFilter;
+import com.codewithmike.eventify.ratelimit.UserRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -14,16 +22,45 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final MeterRegistry meterRegistry;
+    private final UserRateLimiter userRateLimiter;
+    private final DatabaseBulkhead databaseBulkhead;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserRepository userRepository) {
+    public SecurityConfig(JwtUtil jwtUtil, UserPrincipalCache userPrincipalCache, MeterRegistry meterRegistry,
+                          UserRateLimiter userRateLimiter, DatabaseBulkhead databaseBulkhead) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.meterRegistry = meterRegistry;
+        this.userRateLimiter = userRateLimiter;
+        this.databaseBulkhead = databaseBulkhead;
+    }
+
+    // actuator lives on management.server.port, bound to loopback, and is never mapped on the API port;
+    // the scrape endpoint is open there only because that port isn't reachable from outside
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.to("prometheus")).permitAll()
+                        .anyRequest().denyAll()
+                );
+
+        return http.build();
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        var jwtFilter = new JwtAuthenticationFilter(jwtUtil, userRepository);
+        var jwtFilter = new JwtAuthenticationFilter(jwtUtil, userPrincipalCache, meterRegistry);
+        var rateLimitFilter = new RateLimitFilter(userRateLimiter);
+        var bulkheadFilter = new DatabaseBulkheadFilter(databaseBulkhead);
 
         http
                 // Disable CSRF (since JWT is stateless)
@@ -46,13 +83,20 @@ public class SecurityConfig {
                 )
 
                 // Add our JWT filter before username/password authentication
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Per-user budgets for expensive endpoints, once the user is known
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+
+                // At most one request per pooled connection doing database work; the rest wait here
+                .addFilterAfter(bulkheadFilter, RateLimitFilter.class);
 
         return http.build();
     }
 
+    // raising the strength takes effect for existing users on their next login, see AuthController.login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${eventify.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
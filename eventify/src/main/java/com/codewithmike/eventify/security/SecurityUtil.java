@@ -1,6 +1,5 @@
 package com.codewithmike.eventify.security;
 
-import com.codewithmike.eventify.user.User;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -9,10 +8,10 @@ import org.springframework.stereotype.Component;
 public class SecurityUtil {
 
     /**
-     * Returns the currently authenticated User.
-     * Assumes that the User object is stored in the Authentication principal.
+     * Returns the currently authenticated user.
+     * Assumes that a UserPrincipal is stored in the Authentication principal.
      */
-    public static User currentUser() {
+    public static UserPrincipal currentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
@@ -20,7 +19,7 @@ public class SecurityUtil {
         }
 
         Object principal = auth.getPrincipal();
-        if (principal instanceof User user) {
+        if (principal instanceof UserPrincipal user) {
             return user;
         }
 
@@ -0,0 +1,29 @@
+package com.codewithmike.eventify.security;
+
+import com.codewithmike.eventify.user.User;
+import lombok.Value;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the authenticated user stored in the security context.
+ * Used instead of the JPA {@link User} entity so that requests don't carry a detached entity
+ * and its lazy {@code events} collection around.
+ */
+@Value
+public class UserPrincipal implements Principal {
+    UUID id;
+    String email;
+    String firstname;
+    String lastname;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getFirstname(), user.getLastname());
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,56 @@
+package com.codewithmike.eventify.security;
+
+import com.codewithmike.eventify.user.UserRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link UserPrincipal}s keyed by email, in front of {@link UserRepository}.
+ * Entries expire after {@code eventify.security.principal-cache-ttl} and are evicted explicitly
+ * whenever the underlying user row changes. Unknown emails are not cached.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> principals;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${eventify.security.principal-cache-size:10000}") long maximumSize,
+                              @Value("${eventify.security.principal-cache-ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<UserPrincipal> findByEmail(String email) {
+        UserPrincipal cached = principals.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserPrincipal> loaded = userRepository.findByEmail(email).map(UserPrincipal::from);
+        loaded.ifPresent(principal -> principals.put(email, principal));
+        return loaded;
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, principals, "security.principal");
+    }
+}
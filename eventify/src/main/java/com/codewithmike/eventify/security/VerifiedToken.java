@@ -0,0 +1,18 @@
+package com.codewithmike.eventify.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A JWT whose signature has already been verified, reduced to what the filter needs.
+ */
+@Value
+public class VerifiedToken {
+    String subject;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
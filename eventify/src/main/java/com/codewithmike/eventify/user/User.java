@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +17,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(name = "users")
 public class User {
 
     @Id
@@ -36,4 +38,14 @@ public class User {
 
     @OneToMany(mappedBy = "owner")
     private List<Event> events;
+
+    // bumped with bulk updates whenever one of the user's events changes; see UserRepository
+    @Builder.Default
+    private long eventsVersion = 0;
+
+    private LocalDateTime eventsModifiedAt;
+
+    // last change feed seq handed out for this user; see ChangeLogService
+    @Builder.Default
+    private long changeSeq = 0;
 }
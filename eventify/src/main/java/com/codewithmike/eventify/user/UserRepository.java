@@ -1,10 +1,41 @@
 package com.codewithmike.eventify.user;
 
+import com.codewithmike.eventify.common.VersionStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    @Query("select new com.codewithmike.eventify.common.VersionStamp(u.eventsVersion, u.eventsModifiedAt) from User u where u.id = :id")
+    Optional<VersionStamp> findEventsStamp(@Param("id") UUID id);
+
+    // joins the caller's transaction so the bump commits together with the event change
+    @Transactional
+    @Modifying
+    @Query("update User u set u.eventsVersion = u.eventsVersion + 1, u.eventsModifiedAt = :now where u.id = :id")
+    void bumpEventsVersion(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    // touches only the hash: a full save of a User loaded before a slow BCrypt encode would write back
+    // stale eventsVersion/changeSeq counters and rewind them
+    @Transactional
+    @Modifying
+    @Query("update User u set u.passwordHash = :hash where u.id = :id")
+    void updatePasswordHash(@Param("id") UUID id, @Param("hash") String hash);
+
+    // locks the user's row until the caller's transaction ends; read the new value with findChangeSeq
+    @Transactional
+    @Modifying
+    @Query("update User u set u.changeSeq = u.changeSeq + :count where u.id = :id")
+    void reserveChangeSeq(@Param("id") UUID id, @Param("count") long count);
+
+    @Query("select u.changeSeq from User u where u.id = :id")
+    long findChangeSeq(@Param("id") UUID id);
 }
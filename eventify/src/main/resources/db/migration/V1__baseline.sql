@@ -0,0 +1,51 @@
+-- Schema as previously generated by Hibernate. Foreign keys are added last so that H2
+-- reuses existing indexes for them instead of creating its own.
+
+create table users (
+    id uuid not null,
+    firstname varchar(255) not null,
+    lastname varchar(255) not null,
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table event (
+    id uuid not null,
+    title varchar(255),
+    description varchar(255),
+    location varchar(255),
+    date timestamp(6),
+    owner_id uuid not null,
+    primary key (id)
+);
+
+create table participant (
+    id uuid not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    email varchar(255),
+    phone_number varchar(255),
+    invitation_status varchar(16),
+    event_id uuid,
+    primary key (id),
+    constraint uk_participant_event_email unique (event_id, email)
+);
+
+create table event_search_token (
+    id uuid not null,
+    owner_id uuid not null,
+    event_id uuid not null,
+    field varchar(16) not null,
+    token varchar(64) not null,
+    event_date timestamp(6),
+    weight integer not null,
+    primary key (id)
+);
+
+create index idx_event_search_token_owner_token on event_search_token (owner_id, token);
+create index idx_event_search_token_event on event_search_token (event_id);
+
+alter table event add constraint fk_event_owner foreign key (owner_id) references users (id);
+alter table participant add constraint fk_participant_event foreign key (event_id) references event (id);
@@ -0,0 +1,11 @@
+-- Event listings, cursor pages and date-range searches all filter on owner_id, range on date
+-- and order by (date, id). The foreign key is re-created afterwards so it is backed by this
+-- index rather than a separate single-column one.
+alter table event drop constraint fk_event_owner;
+create index idx_event_owner_date_id on event (owner_id, date, id);
+alter table event add constraint fk_event_owner foreign key (owner_id) references users (id);
+
+-- Participant duplicate detection is served by uk_participant_event_email (event_id, email).
+-- RSVP filtering/counting by status and keyset pages by id get their own composite indexes.
+create index idx_participant_event_status on participant (event_id, invitation_status);
+create index idx_participant_event_id on participant (event_id, id);
@@ -0,0 +1,9 @@
+-- Optimistic locking and modification times for events, plus per-collection change counters
+-- used to answer conditional GETs on event and participant listings.
+alter table event add column version bigint default 0 not null;
+alter table event add column updated_at timestamp(6);
+alter table event add column participants_version bigint default 0 not null;
+alter table event add column participants_modified_at timestamp(6);
+
+alter table users add column events_version bigint default 0 not null;
+alter table users add column events_modified_at timestamp(6);
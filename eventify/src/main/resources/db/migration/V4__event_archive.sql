@@ -0,0 +1,8 @@
+-- Hot/cold split of events. Past events are flagged archived by EventArchiver; default listings
+-- seek into the (owner_id, archived = false) range of the index below and never touch cold rows.
+alter table event add column archived boolean default false not null;
+
+create index idx_event_owner_archived_date_id on event (owner_id, archived, date, id);
+
+-- lets the archive job find hot events that have gone past the cutoff
+create index idx_event_archived_date on event (archived, date);
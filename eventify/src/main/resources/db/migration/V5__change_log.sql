@@ -0,0 +1,18 @@
+-- Append-only feed of event and participant mutations for incremental sync. Sequence numbers are
+-- per owner and handed out from users.change_seq under that row's lock, so they are gapless and
+-- follow commit order: a client that has seen seq N has seen everything up to N.
+alter table users add column change_seq bigint default 0 not null;
+
+create table change_log (
+    owner_id uuid not null,
+    seq bigint not null,
+    entity_type varchar(16) not null,
+    entity_id uuid not null,
+    event_id uuid not null,
+    change_type varchar(16) not null,
+    changed_at timestamp(6) not null,
+    primary key (owner_id, seq)
+);
+
+-- retention purge
+create index idx_change_log_changed_at on change_log (changed_at);
@@ -0,0 +1,10 @@
+-- The search index follows the hot/cold split of events: a default search seeks into the
+-- (owner_id, archived = false, token) range and never reads tokens of archived events.
+alter table event_search_token add column archived boolean default false not null;
+
+update event_search_token t set archived = true
+where exists (select 1 from event e where e.id = t.event_id and e.archived = true);
+
+drop index idx_event_search_token_owner_token;
+
+create index idx_event_search_token_owner_archived_token on event_search_token (owner_id, archived, token);
@@ -0,0 +1,149 @@
+package com.codewithmike.eventify;
+
+import com.codewithmike.eventify.event.EventRepository;
+import com.codewithmike.eventify.participant.ParticipantRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs repository methods, captures the SQL Hibernate generates for them and checks with H2's
+ * EXPLAIN that the plan goes through the composite indexes from the Flyway migrations. Each test
+ * passes the values of the statement's parameters, in order, and they are inlined as typed literals.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.codewithmike.eventify.QueryPlanTests$CapturingStatementInspector")
+class QueryPlanTests {
+
+    private static final int PAGE_SIZE = 10;
+    // slices fetch one extra row to tell whether there is a next one
+    private static final int SLICE_LIMIT = PAGE_SIZE + 1;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+    private final UUID afterId = UUID.randomUUID();
+    private final LocalDateTime date = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void eventsByOwnerUseOwnerDateIndex() {
+        eventRepository.findDtosByOwnerId(ownerId, PageRequest.of(0, PAGE_SIZE, Sort.by("date", "id")));
+
+        assertThat(planOf("from event", ownerId, PAGE_SIZE)).contains("IDX_EVENT_OWNER_DATE_ID");
+    }
+
+    @Test
+    void eventKeysetPageUsesOwnerDateIndex() {
+        eventRepository.findDatedByOwnerAfter(ownerId, date, afterId, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(planOf("from event", ownerId, date, date, afterId, SLICE_LIMIT))
+                .contains("IDX_EVENT_OWNER_DATE_ID");
+    }
+
+    @Test
+    void hotEventKeysetPageUsesOwnerArchivedDateIndex() {
+        eventRepository.findHotDatedByOwnerAfter(ownerId, date, afterId, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(planOf("from event", ownerId, date, date, afterId, SLICE_LIMIT))
+                .contains("IDX_EVENT_OWNER_ARCHIVED_DATE_ID");
+    }
+
+    @Test
+    void upcomingEventsUseOwnerArchivedDateIndex() {
+        eventRepository.findUpcomingByOwner(ownerId, date, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(planOf("from event", ownerId, date, SLICE_LIMIT)).contains("IDX_EVENT_OWNER_ARCHIVED_DATE_ID");
+    }
+
+    @Test
+    void duplicateEmailLookupUsesEventEmailIndex() {
+        participantRepository.findExistingEmails(eventId, List.of("a@example.com", "b@example.com"));
+
+        assertThat(planOf("from participant", eventId, "a@example.com", "b@example.com"))
+                .contains("UK_PARTICIPANT_EVENT_EMAIL");
+    }
+
+    @Test
+    void participantKeysetPageUsesEventIdIndex() {
+        participantRepository.findByEventIdAndEventOwnerIdAndIdGreaterThanOrderByIdAsc(eventId, ownerId, afterId,
+                PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(planOf("from participant", eventId, ownerId, afterId, SLICE_LIMIT))
+                .contains("IDX_PARTICIPANT_EVENT_ID");
+    }
+
+    @Test
+    void rsvpSummaryUsesEventStatusIndex() {
+        UUID otherEventId = UUID.randomUUID();
+        participantRepository.countByStatusForEvents(List.of(eventId, otherEventId));
+
+        assertThat(planOf("from participant", eventId, otherEventId)).contains("IDX_PARTICIPANT_EVENT_STATUS");
+    }
+
+    // EXPLAINs the last captured select that reads from the given table, with the parameters inlined in order
+    private String planOf(String fromClause, Object... parameters) {
+        String sql = null;
+        for (String statement : CapturingStatementInspector.STATEMENTS) {
+            String lower = statement.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("select") && lower.contains(fromClause + " ") && !lower.startsWith("select count(")) {
+                sql = statement;
+            }
+        }
+        assertThat(sql).as("captured select %s", fromClause).isNotNull();
+
+        String[] parts = sql.split("\\?", -1);
+        assertThat(parts.length - 1).as("parameters of %s", sql).isEqualTo(parameters.length);
+        StringBuilder explain = new StringBuilder("EXPLAIN ").append(parts[0]);
+        for (int i = 0; i < parameters.length; i++) {
+            explain.append(literal(parameters[i])).append(parts[i + 1]);
+        }
+        return String.join("\n", jdbcTemplate.queryForList(explain.toString(), String.class))
+                .toUpperCase(Locale.ROOT);
+    }
+
+    private static String literal(Object value) {
+        return switch (value) {
+            case UUID id -> "UUID '" + id + "'";
+            case LocalDateTime dateTime -> "TIMESTAMP '" + Timestamp.valueOf(dateTime) + "'";
+            case Number number -> number.toString();
+            default -> "'" + value.toString().replace("'", "''") + "'";
+        };
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.codewithmike.eventify.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steps {@link SseBroadcaster} through delivery by hand: drain tasks go to a queue the test runs, and
+ * emitters record what they are sent instead of writing to a response.
+ */
+class SseBroadcasterTests {
+
+    private static final String TOPIC = "event-1";
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private final TestBroadcaster broadcaster = new TestBroadcaster(2);
+
+    @Test
+    void deliversInitialMessageThenPublishedOnes() {
+        RecordingEmitter emitter = broadcaster.subscribe(TOPIC, 0);
+        broadcaster.publish(TOPIC, 1);
+        broadcaster.publish("other-event", 99);
+        runTasks();
+
+        assertThat(emitter.sent).containsExactly(0, 1);
+    }
+
+    @Test
+    void dropsSubscriberOnceItsQueueExceedsCapacity() {
+        RecordingEmitter slow = broadcaster.subscribe(TOPIC, null);
+        broadcaster.publish(TOPIC, 1);
+        broadcaster.publish(TOPIC, 2);
+        assertThat(broadcaster.droppedCount()).isZero();
+        assertThat(slow.completed).isFalse();
+
+        broadcaster.publish(TOPIC, 3);
+        assertThat(broadcaster.droppedCount()).isEqualTo(1);
+        assertThat(slow.completed).isTrue();
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(broadcaster.hasSubscribers(TOPIC)).isFalse();
+
+        // the pending drain finds the subscriber closed and its backlog gone
+        runTasks();
+        assertThat(slow.sent).isEmpty();
+    }
+
+    @Test
+    void deliveredMessagesFreeQueueCapacity() {
+        RecordingEmitter emitter = broadcaster.subscribe(TOPIC, null);
+        for (int i = 0; i < 10; i++) {
+            broadcaster.publish(TOPIC, i);
+            runTasks();
+        }
+
+        assertThat(broadcaster.droppedCount()).isZero();
+        assertThat(emitter.sent).hasSize(10);
+    }
+
+    @Test
+    void slowSubscriberDoesNotAffectOthersOnTheTopic() {
+        RecordingEmitter slow = broadcaster.subscribe(TOPIC, null);
+        broadcaster.publish(TOPIC, 1);
+        broadcaster.publish(TOPIC, 2);
+        RecordingEmitter fresh = broadcaster.subscribe(TOPIC, null);
+
+        broadcaster.publish(TOPIC, 3);
+        runTasks();
+
+        assertThat(slow.completed).isTrue();
+        assertThat(fresh.sent).containsExactly(3);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void messageOfferedWhileDrainerIsFinishingIsNotLost() {
+        RecordingEmitter emitter = broadcaster.subscribe(TOPIC, null);
+        // the offer lands after the drainer's last poll and before it clears its flag, so it sees a drain
+        // still running and schedules none of its own
+        broadcaster.lastQueue.onEmpty = () -> broadcaster.publish(TOPIC, 2);
+
+        broadcaster.publish(TOPIC, 1);
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+
+        assertThat(emitter.sent).containsExactly(1, 2);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void closedSubscribersAreRemovedFromTheTopic() {
+        RecordingEmitter first = broadcaster.subscribe(TOPIC, null);
+        RecordingEmitter second = broadcaster.subscribe(TOPIC, null);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+
+        first.disconnect();
+        first.disconnect();
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(broadcaster.hasSubscribers(TOPIC)).isTrue();
+
+        broadcaster.publish(TOPIC, 1);
+        runTasks();
+        assertThat(first.sent).isEmpty();
+        assertThat(second.sent).containsExactly(1);
+
+        second.disconnect();
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(broadcaster.hasSubscribers(TOPIC)).isFalse();
+
+        broadcaster.publish(TOPIC, 2);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void failedSendClosesTheSubscriber() {
+        RecordingEmitter emitter = broadcaster.subscribe(TOPIC, null);
+        emitter.failSends = true;
+
+        broadcaster.publish(TOPIC, 1);
+        runTasks();
+
+        assertThat(broadcaster.hasSubscribers(TOPIC)).isFalse();
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private final class TestBroadcaster extends SseBroadcaster<String, Integer> {
+
+        HookedQueue lastQueue;
+
+        TestBroadcaster(int queueCapacity) {
+            super("test", queueCapacity, 0, tasks::add);
+        }
+
+        @Override
+        public RecordingEmitter subscribe(String topic, Integer initial) {
+            return (RecordingEmitter) super.subscribe(topic, initial);
+        }
+
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            return new RecordingEmitter(timeoutMillis);
+        }
+
+        @Override
+        Queue<Integer> newQueue() {
+            lastQueue = new HookedQueue();
+            return lastQueue;
+        }
+    }
+
+    // runs onEmpty once, the first time a poll comes back empty
+    private static final class HookedQueue extends ConcurrentLinkedQueue<Integer> {
+
+        Runnable onEmpty;
+
+        @Override
+        public Integer poll() {
+            Integer message = super.poll();
+            if (message == null && onEmpty != null) {
+                Runnable hook = onEmpty;
+                onEmpty = null;
+                hook.run();
+            }
+            return message;
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<Object> sent = new ArrayList<>();
+        boolean completed;
+        boolean failSends;
+        private final List<Runnable> completionCallbacks = new ArrayList<>();
+
+        RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("client went away");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof Integer message) {
+                    sent.add(message);
+                }
+            }
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+            super.onCompletion(callback);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        // what the container reports when the client closes the stream
+        void disconnect() {
+            completionCallbacks.forEach(Runnable::run);
+        }
+    }
+}
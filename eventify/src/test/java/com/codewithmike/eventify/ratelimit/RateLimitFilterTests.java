@@ -0,0 +1,114 @@
+package com.codewithmike.eventify.ratelimit;
+
+import com.codewithmike.eventify.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link RateLimitFilter} on mock requests: over-budget responses, and when the concurrency slot of a
+ * synchronous or async request is given back.
+ */
+class RateLimitFilterTests {
+
+    private static final String UPLOAD = "/api/participants/upload/" + UUID.randomUUID();
+
+    // heavy: plenty of tokens, one request at a time
+    private final RateLimitFilter filter = new RateLimitFilter(new UserRateLimiter(true, 30, 60, 4, 100, 100, 1,
+            Duration.ofMinutes(10), new SimpleMeterRegistry()));
+
+    @BeforeEach
+    void authenticate() {
+        UserPrincipal user = new UserPrincipal(UUID.randomUUID(), "guest@example.com", "Guest", "User");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void synchronousRequestReleasesItsSlotWhenDone() throws Exception {
+        assertThat(upload((req, resp) -> { }).getStatus()).isEqualTo(200);
+        assertThat(upload((req, resp) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void failingRequestReleasesItsSlot() throws Exception {
+        assertThatThrownBy(() -> upload((req, resp) -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(upload((req, resp) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncRequestHoldsItsSlotUntilComplete() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filter.doFilter(streaming, new MockHttpServletResponse(),
+                (req, resp) -> ((HttpServletRequest) req).startAsync());
+        assertThat(streaming.isAsyncStarted()).isTrue();
+
+        MockHttpServletResponse rejected = upload((req, resp) -> { });
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("too_many_concurrent_requests");
+
+        ((MockAsyncContext) streaming.getAsyncContext()).complete();
+
+        assertThat(upload((req, resp) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncTimeoutReleasesTheSlot() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filter.doFilter(streaming, new MockHttpServletResponse(),
+                (req, resp) -> ((HttpServletRequest) req).startAsync());
+
+        MockAsyncContext context = (MockAsyncContext) streaming.getAsyncContext();
+        for (var listener : context.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        assertThat(upload((req, resp) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unclassifiedRequestsDoNotTakeASlot() throws Exception {
+        MockHttpServletRequest listing = new MockHttpServletRequest("GET", "/api/events");
+        listing.setAsyncSupported(true);
+        filter.doFilter(listing, new MockHttpServletResponse(),
+                (req, resp) -> ((HttpServletRequest) req).startAsync());
+
+        assertThat(upload((req, resp) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse upload(FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", UPLOAD);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
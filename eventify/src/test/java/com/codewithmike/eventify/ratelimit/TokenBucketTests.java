@@ -0,0 +1,100 @@
+package com.codewithmike.eventify.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Drives {@link TokenBucket} with an explicit clock: refill, the capacity ceiling, the wait reported when
+ * empty and the concurrency cap.
+ */
+class TokenBucketTests {
+
+    private static final long T0 = TimeUnit.HOURS.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void startsFullAndReportsWaitForNextTokenWhenEmpty() {
+        // one token per second
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(2, 60, 1), T0);
+
+        assertThat(bucket.tryConsume(T0)).isZero();
+        assertThat(bucket.tryConsume(T0)).isZero();
+        assertThat(bucket.tryConsume(T0)).isCloseTo(SECOND, within(1L));
+    }
+
+    @Test
+    void refillsWithElapsedTime() {
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(1, 60, 1), T0);
+        assertThat(bucket.tryConsume(T0)).isZero();
+
+        assertThat(bucket.tryConsume(T0 + SECOND / 4)).isCloseTo(3 * SECOND / 4, within(1L));
+        assertThat(bucket.tryConsume(T0 + 2 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(T0 + 2 * SECOND)).isCloseTo(SECOND, within(1L));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(3, 60, 1), T0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(T0)).isZero();
+        }
+
+        long later = T0 + TimeUnit.MINUTES.toNanos(10);
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void clockGoingBackwardsAddsNoTokens() {
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(1, 60, 1), T0);
+        assertThat(bucket.tryConsume(T0 + SECOND)).isZero();
+
+        assertThat(bucket.tryConsume(T0)).isCloseTo(SECOND, within(1L));
+    }
+
+    @Test
+    void zeroRefillNeverRecovers() {
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(1, 0, 1), T0);
+        assertThat(bucket.tryConsume(T0)).isZero();
+
+        assertThat(bucket.tryConsume(T0 + TimeUnit.DAYS.toNanos(1))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void capsConcurrentEntries() {
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(10, 60, 2), T0);
+
+        assertThat(bucket.tryEnter()).isTrue();
+        assertThat(bucket.tryEnter()).isTrue();
+        assertThat(bucket.tryEnter()).isFalse();
+
+        bucket.exit();
+        assertThat(bucket.tryEnter()).isTrue();
+    }
+
+    @Test
+    void retiresOnlyWhenIdleWithoutRequestsInFlight() {
+        long idle = TimeUnit.MINUTES.toNanos(10);
+        TokenBucket bucket = new TokenBucket(new RateLimitBudget(10, 60, 2), T0);
+
+        assertThat(bucket.retireIfIdle(T0 + idle, idle)).isFalse();
+
+        bucket.tryEnter();
+        assertThat(bucket.retireIfIdle(T0 + idle + 1, idle)).isFalse();
+
+        bucket.exit();
+        bucket.touch(T0 + idle);
+        assertThat(bucket.retireIfIdle(T0 + idle + 1, idle)).isFalse();
+        assertThat(bucket.isRetired()).isFalse();
+
+        assertThat(bucket.retireIfIdle(T0 + 2 * idle + 1, idle)).isTrue();
+        assertThat(bucket.isRetired()).isTrue();
+        assertThat(bucket.tryEnter()).isFalse();
+    }
+}
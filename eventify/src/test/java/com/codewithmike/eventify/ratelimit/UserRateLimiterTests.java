@@ -0,0 +1,117 @@
+package com.codewithmike.eventify.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admission decisions of {@link UserRateLimiter} with an explicit clock: Retry-After rounding, the
+ * concurrency cap and the idle-bucket sweep.
+ */
+class UserRateLimiterTests {
+
+    private static final long T0 = TimeUnit.HOURS.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID userId = UUID.randomUUID();
+
+    // heavy: one token, refilled every 6 seconds
+    private UserRateLimiter limiter(int heavyConcurrent) {
+        return new UserRateLimiter(true, 30, 60, 4, 1, 10, heavyConcurrent, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        UserRateLimiter limiter = limiter(2);
+        limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0).release();
+
+        Admission early = limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0 + SECOND / 2);
+        assertThat(early.isAllowed()).isFalse();
+        assertThat(early.getReason()).isEqualTo("rate_limited");
+        assertThat(early.getRetryAfterSeconds()).isEqualTo(6);
+
+        // half a second left is reported as one, never as zero
+        Admission late = limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0 + 11 * SECOND / 2);
+        assertThat(late.getRetryAfterSeconds()).isEqualTo(1);
+
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0 + 7 * SECOND).isAllowed()).isTrue();
+    }
+
+    @Test
+    void rejectedRequestDoesNotHoldAConcurrencySlot() {
+        UserRateLimiter limiter = limiter(1);
+        limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0).release();
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0).isAllowed()).isFalse();
+
+        Admission next = limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0 + 7 * SECOND);
+        assertThat(next.isAllowed()).isTrue();
+    }
+
+    @Test
+    void capsConcurrentRequestsUntilReleased() {
+        UserRateLimiter limiter = new UserRateLimiter(true, 30, 60, 2, 5, 10, 2, Duration.ofMinutes(10),
+                meterRegistry);
+
+        Admission first = limiter.tryAcquire(userId, RateLimitClass.SEARCH, T0);
+        Admission second = limiter.tryAcquire(userId, RateLimitClass.SEARCH, T0);
+        Admission third = limiter.tryAcquire(userId, RateLimitClass.SEARCH, T0);
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(second.isAllowed()).isTrue();
+        assertThat(third.isAllowed()).isFalse();
+        assertThat(third.getReason()).isEqualTo("too_many_concurrent_requests");
+        assertThat(third.getRetryAfterSeconds()).isEqualTo(1);
+
+        // releasing twice gives back one slot only
+        first.release();
+        first.release();
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.SEARCH, T0).isAllowed()).isTrue();
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.SEARCH, T0).isAllowed()).isFalse();
+
+        // other users and other classes have their own budgets
+        assertThat(limiter.tryAcquire(UUID.randomUUID(), RateLimitClass.SEARCH, T0).isAllowed()).isTrue();
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0).isAllowed()).isTrue();
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        UserRateLimiter limiter = new UserRateLimiter(false, 1, 1, 1, 1, 1, 1, Duration.ofMinutes(10),
+                meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0).isAllowed()).isTrue();
+        }
+    }
+
+    @Test
+    void sweepKeepsBucketsInUseAndDropsIdleOnes() {
+        UserRateLimiter limiter = limiter(1);
+        long later = T0 + TimeUnit.HOURS.toNanos(1);
+
+        Admission running = limiter.tryAcquire(userId, RateLimitClass.HEAVY, T0);
+        limiter.evictIdleBuckets(later);
+        assertThat(bucketCount()).isEqualTo(1);
+        // still the same bucket, so the running request still counts against the cap
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.HEAVY, later).getReason())
+                .isEqualTo("too_many_concurrent_requests");
+
+        running.release();
+        limiter.evictIdleBuckets(later + TimeUnit.MINUTES.toNanos(5));
+        assertThat(bucketCount()).isEqualTo(1);
+
+        long idle = later + TimeUnit.MINUTES.toNanos(11);
+        limiter.evictIdleBuckets(idle);
+        assertThat(bucketCount()).isZero();
+        assertThat(limiter.tryAcquire(userId, RateLimitClass.HEAVY, idle).isAllowed()).isTrue();
+    }
+
+    private double bucketCount() {
+        return meterRegistry.get("eventify.ratelimit.buckets").gauge().value();
+    }
+}